@@ -0,0 +1,16 @@
+package com.poc.case_ingestion_service.codec;
+
+/**
+ * Kafka headers set on case-events records besides {@link CaseWireFormat#HEADER}
+ */
+public final class CaseEventHeaders {
+
+    /**
+     * Epoch millis at which ingestion published the record, as a decimal string. The processing
+     * service measures end-to-end latency from it once the case is committed to the graph.
+     */
+    public static final String INGESTED_AT = "caseIngestedAt";
+
+    private CaseEventHeaders() {
+    }
+}
@@ -0,0 +1,56 @@
+package com.poc.case_ingestion_service.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.poc.case_ingestion_service.model.CaseReport;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Encodes and decodes CaseReport for every {@link CaseWireFormat}. Readers and writers are
+ * created once per format and are thread safe.
+ *
+ * <p>Enum fields are written by name, exactly as the String fields they replaced. Reading is lenient
+ * so records already on the topic stay readable: names match case-insensitively, an unknown caseType
+ * becomes {@code OTHER} and any other unknown value becomes null.
+ */
+@Component
+public class CaseReportCodec {
+
+    private final Map<CaseWireFormat, ObjectReader> readers = new EnumMap<>(CaseWireFormat.class);
+    private final Map<CaseWireFormat, ObjectWriter> writers = new EnumMap<>(CaseWireFormat.class);
+
+    public CaseReportCodec() {
+        for (CaseWireFormat format : CaseWireFormat.values()) {
+            ObjectMapper mapper = new ObjectMapper(format.newFactory()).findAndRegisterModules()
+                    .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+                    .enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_USING_DEFAULT_VALUE)
+                    .enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL);
+            readers.put(format, mapper.readerFor(CaseReport.class));
+            writers.put(format, mapper.writerFor(CaseReport.class));
+        }
+    }
+
+    public byte[] encode(CaseReport caseReport, CaseWireFormat format) {
+        try {
+            return writers.get(format).writeValueAsBytes(caseReport);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode case " + caseReport.getCaseId() + " as " + format, e);
+        }
+    }
+
+    public CaseReport decode(byte[] payload, CaseWireFormat format) {
+        try {
+            return readers.get(format).readValue(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode case from " + format, e);
+        }
+    }
+}
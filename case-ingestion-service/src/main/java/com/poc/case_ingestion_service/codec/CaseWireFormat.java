@@ -0,0 +1,58 @@
+package com.poc.case_ingestion_service.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.util.Locale;
+
+/**
+ * Encodings of CaseReport on the case-events topic. All of them bind through the same Jackson
+ * annotations on the model classes, so the model is the schema and the formats are interchangeable.
+ */
+public enum CaseWireFormat {
+
+    JSON {
+        @Override
+        JsonFactory newFactory() {
+            return new JsonFactory();
+        }
+    },
+
+    /** Binary JSON with back-references for repeated field names and short strings */
+    SMILE {
+        @Override
+        JsonFactory newFactory() {
+            return SmileFactory.builder().build();
+        }
+    },
+
+    /** RFC 8949 binary encoding */
+    CBOR {
+        @Override
+        JsonFactory newFactory() {
+            return CBORFactory.builder().build();
+        }
+    };
+
+    /**
+     * Kafka header carrying the format of the record value; records without it are JSON
+     */
+    public static final String HEADER = "caseFormat";
+
+    abstract JsonFactory newFactory();
+
+    public String headerValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolve a header or configuration value; null and blank mean JSON
+     */
+    public static CaseWireFormat fromHeader(String value) {
+        if (value == null || value.isBlank()) {
+            return JSON;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
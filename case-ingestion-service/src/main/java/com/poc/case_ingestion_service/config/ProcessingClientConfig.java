@@ -0,0 +1,31 @@
+package com.poc.case_ingestion_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+/**
+ * HTTP client for the case-processing-service read API
+ */
+@Configuration
+public class ProcessingClientConfig {
+
+    @Value("${case-ingestion.processing.base-url:http://localhost:8081}")
+    private String baseUrl;
+
+    @Value("${case-ingestion.processing.timeout-ms:2000}")
+    private int timeoutMs;
+
+    @Bean
+    public RestClient processingRestClient(RestClient.Builder builder) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        return builder
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
+}
@@ -1,8 +1,15 @@
 package com.poc.case_ingestion_service.controller;
 
+import com.poc.case_ingestion_service.exception.SubmissionQueueFullException;
+import com.poc.case_ingestion_service.model.BulkSubmissionResult;
 import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.DeliveryStatus;
+import com.poc.case_ingestion_service.service.BulkCaseIngestionService;
 import com.poc.case_ingestion_service.service.CaseIngestionService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,9 +19,16 @@ import org.springframework.web.bind.annotation.*;
 public class CaseController {
 
     private final CaseIngestionService caseIngestionService;
+    private final BulkCaseIngestionService bulkCaseIngestionService;
+
+    @Value("${case-ingestion.async.enabled:false}")
+    private boolean asyncSubmit;
 
     @PostMapping("/submit")
     public ResponseEntity<String> submitCase(@RequestBody CaseReport caseReport) {
+        if (asyncSubmit) {
+            return submitCaseAsync(caseReport);
+        }
         try {
             caseIngestionService.processCase(caseReport);
             return ResponseEntity.ok("Case submitted successfully: " + caseReport.getCaseId());
@@ -23,10 +37,48 @@ public class CaseController {
         }
     }
 
+    /**
+     * Bulk submission of NDJSON or a JSON array; the body is read as a stream, never buffered whole
+     */
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", "application/json"})
+    public ResponseEntity<?> submitBulk(HttpServletRequest request) {
+        try {
+            BulkSubmissionResult result = bulkCaseIngestionService.submitBulk(request.getInputStream());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error processing bulk submission: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Accept the case into the submission queue; delivery is reported by {@link #getDeliveryStatus}
+     */
+    private ResponseEntity<String> submitCaseAsync(CaseReport caseReport) {
+        try {
+            String caseId = caseIngestionService.submitCaseAsync(caseReport);
+            return ResponseEntity.accepted().body("Case accepted: " + caseId);
+        } catch (SubmissionQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", "1")
+                    .body("Error processing case: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error processing case: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{caseId}/status")
+    public ResponseEntity<DeliveryStatus> getDeliveryStatus(@PathVariable String caseId) {
+        DeliveryStatus status = caseIngestionService.getDeliveryStatus(caseId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
     @GetMapping("/{caseId}")
     public ResponseEntity<?> getCaseById(@PathVariable String caseId) {
         try {
             CaseReport caseReport = caseIngestionService.getCaseById(caseId);
+            if (caseReport == null) {
+                return ResponseEntity.notFound().build();
+            }
             return ResponseEntity.ok(caseReport);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error retrieving case: " + e.getMessage());
@@ -0,0 +1,20 @@
+package com.poc.case_ingestion_service.exception;
+
+import java.util.List;
+
+/**
+ * A case report that breaks one or more constraints; the message lists all of them
+ */
+public class CaseValidationException extends IllegalArgumentException {
+
+    private final List<String> violations;
+
+    public CaseValidationException(List<String> violations) {
+        super(String.join("; ", violations));
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,11 @@
+package com.poc.case_ingestion_service.exception;
+
+public class SubmissionQueueFullException extends RuntimeException {
+    public SubmissionQueueFullException(String message) {
+        super(message);
+    }
+
+    public SubmissionQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
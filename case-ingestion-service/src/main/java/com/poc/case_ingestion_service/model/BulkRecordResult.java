@@ -0,0 +1,24 @@
+package com.poc.case_ingestion_service.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRecordResult {
+
+    public enum Status {
+        ACCEPTED, // published to case-events
+        REJECTED, // could not be parsed or failed validation
+        FAILED    // valid, but the Kafka batch it was in failed
+    }
+
+    private int index;
+    private String caseId;
+    private Status status;
+    private String error;
+}
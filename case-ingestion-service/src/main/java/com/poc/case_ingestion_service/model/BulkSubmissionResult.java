@@ -0,0 +1,27 @@
+package com.poc.case_ingestion_service.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkSubmissionResult {
+    private int total;
+    private int accepted;
+    private int rejected;
+    private int failed;
+    private boolean truncated; // payload was not well-formed JSON after 'total' records
+    private String error;
+    private List<BulkRecordResult> records = new ArrayList<>();
+
+    public void add(BulkRecordResult record) {
+        records.add(record);
+        total++;
+        switch (record.getStatus()) {
+            case ACCEPTED -> accepted++;
+            case REJECTED -> rejected++;
+            case FAILED -> failed++;
+        }
+    }
+}
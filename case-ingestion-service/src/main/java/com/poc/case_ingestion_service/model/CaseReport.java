@@ -13,11 +13,11 @@ public class CaseReport {
     @NotBlank
     private String caseId;
 
-    @NotBlank
-    private String caseType; // THEFT, ASSAULT, FRAUD, etc.
+    @NotNull
+    private CaseType caseType;
 
-    @NotBlank
-    private String status; // OPEN, CLOSED, PENDING
+    @NotNull
+    private CaseStatus status;
 
     @NotNull
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
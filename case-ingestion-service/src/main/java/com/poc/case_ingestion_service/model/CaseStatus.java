@@ -0,0 +1,27 @@
+package com.poc.case_ingestion_service.model;
+
+/**
+ * Lifecycle states of a case
+ */
+public enum CaseStatus implements CodedEnum {
+    OPEN(1),
+    PENDING(2),
+    CLOSED(3);
+
+    private static final CaseStatus[] BY_CODE = CodedEnum.byCode(values());
+
+    private final int code;
+
+    CaseStatus(int code) {
+        this.code = code;
+    }
+
+    @Override
+    public int code() {
+        return code;
+    }
+
+    public static CaseStatus fromCode(int code) {
+        return CodedEnum.fromCode(BY_CODE, code);
+    }
+}
@@ -0,0 +1,45 @@
+package com.poc.case_ingestion_service.model;
+
+import com.fasterxml.jackson.annotation.JsonEnumDefaultValue;
+
+/**
+ * Kinds of case accepted by ingestion. Records with a type this version does not know are read
+ * as {@link #OTHER} when the reader enables unknown enum defaults, as the Kafka codec does.
+ */
+public enum CaseType implements CodedEnum {
+    THEFT(1, false),
+    ASSAULT(2, true),
+    FRAUD(3, false),
+    ROBBERY(4, true),
+    BURGLARY(5, false),
+    VANDALISM(6, false),
+    HOMICIDE(7, true),
+    @JsonEnumDefaultValue
+    OTHER(8, false);
+
+    private static final CaseType[] BY_CODE = CodedEnum.byCode(values());
+
+    private final int code;
+    private final boolean highPriority;
+
+    CaseType(int code, boolean highPriority) {
+        this.code = code;
+        this.highPriority = highPriority;
+    }
+
+    @Override
+    public int code() {
+        return code;
+    }
+
+    /**
+     * Violent crimes that raise a high priority alert as soon as they are stored
+     */
+    public boolean isHighPriority() {
+        return highPriority;
+    }
+
+    public static CaseType fromCode(int code) {
+        return CodedEnum.fromCode(BY_CODE, code);
+    }
+}
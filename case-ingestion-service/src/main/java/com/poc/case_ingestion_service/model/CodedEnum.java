@@ -0,0 +1,36 @@
+package com.poc.case_ingestion_service.model;
+
+import java.util.Arrays;
+
+/**
+ * Enum with a stable numeric code for compact storage. Codes are assigned explicitly and never
+ * reused, so reordering or adding constants does not change stored data. On the wire (JSON, Smile,
+ * CBOR) the constants still travel by name.
+ */
+public interface CodedEnum {
+
+    int code();
+
+    /**
+     * Lookup table from code to constant, built once per enum
+     */
+    static <E extends Enum<E> & CodedEnum> E[] byCode(E[] values) {
+        int max = 0;
+        for (E value : values) {
+            max = Math.max(max, value.code());
+        }
+        E[] byCode = Arrays.copyOf(values, max + 1);
+        Arrays.fill(byCode, null);
+        for (E value : values) {
+            byCode[value.code()] = value;
+        }
+        return byCode;
+    }
+
+    /**
+     * Constant for a code, or null when the code is unknown
+     */
+    static <E> E fromCode(E[] byCode, int code) {
+        return code >= 0 && code < byCode.length ? byCode[code] : null;
+    }
+}
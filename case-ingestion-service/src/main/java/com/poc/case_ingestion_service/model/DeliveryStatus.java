@@ -0,0 +1,26 @@
+package com.poc.case_ingestion_service.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryStatus {
+
+    public enum State {
+        QUEUED, DELIVERED, FAILED
+    }
+
+    private String caseId;
+    private State state;
+    private Integer partition; // set once DELIVERED
+    private Long offset;
+    private String error; // set when FAILED
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updatedAt;
+}
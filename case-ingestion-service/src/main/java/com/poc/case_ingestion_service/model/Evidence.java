@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 @Data
 public class Evidence {
     private String evidenceId;
-    private String type; // PHYSICAL, DIGITAL, TESTIMONIAL
+    private EvidenceType type;
     private String description;
     private String collectedBy;
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
@@ -0,0 +1,27 @@
+package com.poc.case_ingestion_service.model;
+
+/**
+ * Kinds of evidence attached to a case
+ */
+public enum EvidenceType implements CodedEnum {
+    PHYSICAL(1),
+    DIGITAL(2),
+    TESTIMONIAL(3);
+
+    private static final EvidenceType[] BY_CODE = CodedEnum.byCode(values());
+
+    private final int code;
+
+    EvidenceType(int code) {
+        this.code = code;
+    }
+
+    @Override
+    public int code() {
+        return code;
+    }
+
+    public static EvidenceType fromCode(int code) {
+        return CodedEnum.fromCode(BY_CODE, code);
+    }
+}
@@ -7,7 +7,7 @@ public class Person {
     private String personId;
     private String firstName;
     private String lastName;
-    private String role; // SUSPECT, VICTIM, WITNESS
+    private PersonRole role;
     private String contactNumber;
     private String address;
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.poc.case_ingestion_service.model;
+
+/**
+ * How a person is involved in a case
+ */
+public enum PersonRole implements CodedEnum {
+    SUSPECT(1),
+    VICTIM(2),
+    WITNESS(3);
+
+    private static final PersonRole[] BY_CODE = CodedEnum.byCode(values());
+
+    private final int code;
+
+    PersonRole(int code) {
+        this.code = code;
+    }
+
+    @Override
+    public int code() {
+        return code;
+    }
+
+    public static PersonRole fromCode(int code) {
+        return CodedEnum.fromCode(BY_CODE, code);
+    }
+}
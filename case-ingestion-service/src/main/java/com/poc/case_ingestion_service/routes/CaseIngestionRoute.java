@@ -1,33 +1,98 @@
 package com.poc.case_ingestion_service.routes;
 
+import com.poc.case_ingestion_service.codec.CaseEventHeaders;
+import com.poc.case_ingestion_service.codec.CaseReportCodec;
+import com.poc.case_ingestion_service.codec.CaseWireFormat;
 import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.service.CaseIds;
+import com.poc.case_ingestion_service.service.DeliveryStatusTracker;
+import com.poc.case_ingestion_service.validation.CaseReportValidator;
+import lombok.RequiredArgsConstructor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
 import org.apache.camel.builder.RouteBuilder;
-import org.apache.camel.model.dataformat.JsonLibrary;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.apache.camel.support.DefaultMessage;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
+@RequiredArgsConstructor
 public class CaseIngestionRoute extends RouteBuilder {
 
+    /**
+     * Bounded hand-off between the REST thread and the Kafka publishers. blockWhenFull=false makes
+     * a full queue fail the send immediately so the controller can answer 429.
+     */
+    public static final String SUBMISSION_QUEUE = "seda:caseSubmissions"
+            + "?size={{case-ingestion.async.queue-size:10000}}"
+            + "&concurrentConsumers={{case-ingestion.async.publishers:16}}"
+            + "&blockWhenFull=false";
+
+    /**
+     * Validate and enrich a CaseReport in place and return it (InOut); fails with a
+     * CaseValidationException listing every violation of an invalid case
+     */
+    public static final String PREPARE_CASE = "direct:prepareCase";
+
+    /**
+     * Publish a List of validated case reports as one Kafka producer batch
+     */
+    public static final String PUBLISH_CASE_BATCH = "direct:publishCaseBatch";
+
+    private static final String KAFKA_CASE_EVENTS = "kafka:case-events"
+            + "?brokers={{case-ingestion.kafka.brokers:pkc-l7pr2.ap-south-1.aws.confluent.cloud:9092}}"
+            + "&lingerMs={{case-ingestion.kafka.linger-ms:20}}"
+            + "&producerBatchSize={{case-ingestion.kafka.batch-size:65536}}"
+            + "&compressionCodec={{case-ingestion.kafka.compression:lz4}}"
+            + "&valueSerializer=org.apache.kafka.common.serialization.ByteArraySerializer";
+
+    private static final String CASE_ID_PROPERTY = "submittedCaseId";
+
+    private final DeliveryStatusTracker deliveryStatusTracker;
+    private final CaseReportCodec caseReportCodec;
+    private final RestClient processingRestClient;
+    private final CaseReportValidator caseReportValidator;
+
+    @Value("${case-ingestion.kafka.format:json}")
+    private String wireFormat;
+
+    @Value("${case-ingestion.kafka.partition-key:case}")
+    private String partitionKey;
+
     @Override
     public void configure() throws Exception {
 
+        from(SUBMISSION_QUEUE)
+                .routeId("case-submission-route")
+                .setProperty(CASE_ID_PROPERTY, simple("${body.caseId}"))
+                .doTry()
+                .to("direct:processCase")
+                .process(this::markDelivered)
+                .doCatch(Exception.class)
+                .process(this::markFailed)
+                .end();
+
         from("direct:processCase")
                 .routeId("case-ingestion-route")
                 .log("Processing case: ${body.caseId}")
-                .to("direct:validateCase")
-                .to("direct:enrichCase")
+                .to(PREPARE_CASE)
                 .to("direct:sendToKafka");
 
+        from(PREPARE_CASE)
+                .routeId("case-preparation-route")
+                .to("direct:validateCase")
+                .to("direct:enrichCase");
+
         from("direct:validateCase")
                 .routeId("case-validation-route")
-                .log("Validating case: ${body.caseId}")
-                .choice()
-                .when(simple("${body.caseType} == null"))
-                .throwException(new IllegalArgumentException("Case type is required"))
-                .when(simple("${body.status} == null"))
-                .throwException(new IllegalArgumentException("Case status is required"))
-                .otherwise()
-                .log("Case validation passed");
+                .process(exchange -> caseReportValidator.validate(exchange.getIn().getBody(CaseReport.class)));
 
         from("direct:enrichCase")
                 .routeId("case-enrichment-route")
@@ -39,32 +104,112 @@ public class CaseIngestionRoute extends RouteBuilder {
                         caseReport.setReportedAt(java.time.LocalDateTime.now());
                     }
 
-                    if (caseReport.getCaseId() == null || caseReport.getCaseId().isEmpty()) {
-                        caseReport.setCaseId("CASE-" + System.currentTimeMillis());
-                    }
+                    CaseIds.assignIfMissing(caseReport);
 
                     exchange.getIn().setBody(caseReport);
                 });
 
         from("direct:sendToKafka")
                 .routeId("kafka-producer-route")
-                .marshal().json(JsonLibrary.Jackson)
-                .log("Sending to Kafka: ${body}")
-                .to("kafka:case-events?brokers=pkc-l7pr2.ap-south-1.aws.confluent.cloud:9092")
+                .log("Sending to Kafka: ${body.caseId}")
+                .process(this::encodeCase)
+                .to(KAFKA_CASE_EVENTS)
                 .log("Case sent to Kafka successfully");
 
+        from(PUBLISH_CASE_BATCH)
+                .routeId("kafka-batch-producer-route")
+                .log("Sending batch of ${body.size()} cases to Kafka")
+                .process(this::encodeCaseBatch)
+                .to(KAFKA_CASE_EVENTS)
+                .log("Case batch sent to Kafka successfully");
+
         from("direct:getCaseById")
                 .routeId("get-case-by-id-route")
                 .log("Getting case by ID: ${body}")
-                .process(exchange -> {
-                    String caseId = exchange.getIn().getBody(String.class);
-                    CaseReport mockCase = new CaseReport();
-                    mockCase.setCaseId(caseId);
-                    mockCase.setStatus("RETRIEVED");
-                    mockCase.setReportedAt(java.time.LocalDateTime.now());
-
-                    exchange.getIn().setBody(mockCase);
-                })
+                .process(this::fetchCase)
                 .log("Retrieved case: ${body}");
     }
-}
\ No newline at end of file
+
+    /**
+     * Look the case up in case-processing-service; the body becomes null when the case does not exist
+     */
+    private void fetchCase(Exchange exchange) {
+        String caseId = exchange.getIn().getBody(String.class);
+        CaseReport caseReport = processingRestClient.get()
+                .uri("/api/cases/{caseId}", caseId)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().value() == 404) {
+                        return null;
+                    }
+                    if (response.getStatusCode().isError()) {
+                        throw new IllegalStateException("Case lookup failed with status " + response.getStatusCode());
+                    }
+                    return response.bodyTo(CaseReport.class);
+                });
+        exchange.getIn().setBody(caseReport);
+    }
+
+    /**
+     * Encode the CaseReport body in the configured wire format and signal the format in a header
+     */
+    private void encodeCase(Exchange exchange) {
+        CaseWireFormat format = CaseWireFormat.fromHeader(wireFormat);
+        CaseReport caseReport = exchange.getIn().getBody(CaseReport.class);
+        exchange.getIn().setBody(caseReportCodec.encode(caseReport, format));
+        exchange.getIn().setHeader(CaseWireFormat.HEADER, format.headerValue());
+        exchange.getIn().setHeader(KafkaConstants.KEY, recordKey(caseReport));
+        exchange.getIn().setHeader(CaseEventHeaders.INGESTED_AT, String.valueOf(System.currentTimeMillis()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void encodeCaseBatch(Exchange exchange) {
+        CaseWireFormat format = CaseWireFormat.fromHeader(wireFormat);
+        List<CaseReport> caseReports = exchange.getIn().getBody(List.class);
+        // One Message per record so each record carries its own key
+        List<Message> records = new ArrayList<>(caseReports.size());
+        String ingestedAt = String.valueOf(System.currentTimeMillis());
+        for (CaseReport caseReport : caseReports) {
+            Message record = new DefaultMessage(exchange.getContext());
+            record.setBody(caseReportCodec.encode(caseReport, format));
+            record.setHeader(CaseWireFormat.HEADER, format.headerValue());
+            record.setHeader(KafkaConstants.KEY, recordKey(caseReport));
+            record.setHeader(CaseEventHeaders.INGESTED_AT, ingestedAt);
+            records.add(record);
+        }
+        exchange.getIn().setBody(records);
+        exchange.getIn().setHeader(CaseWireFormat.HEADER, format.headerValue());
+    }
+
+    /**
+     * Record key, and so the partition, of a case. Records with the same key land on the same
+     * partition and are consumed in order; keying by district falls back to the case ID when a
+     * case has no district.
+     */
+    private String recordKey(CaseReport caseReport) {
+        if ("district".equalsIgnoreCase(partitionKey)
+                && caseReport.getLocation() != null
+                && StringUtils.hasText(caseReport.getLocation().getDistrict())) {
+            return caseReport.getLocation().getDistrict();
+        }
+        return caseReport.getCaseId();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void markDelivered(Exchange exchange) {
+        String caseId = exchange.getProperty(CASE_ID_PROPERTY, String.class);
+        List<RecordMetadata> metadata = exchange.getIn().getHeader(KafkaConstants.KAFKA_RECORDMETA, List.class);
+        if (metadata != null && !metadata.isEmpty()) {
+            RecordMetadata recordMetadata = metadata.get(0);
+            deliveryStatusTracker.markDelivered(caseId, recordMetadata.partition(), recordMetadata.offset());
+        } else {
+            deliveryStatusTracker.markDelivered(caseId, null, null);
+        }
+    }
+
+    private void markFailed(Exchange exchange) {
+        String caseId = exchange.getProperty(CASE_ID_PROPERTY, String.class);
+        Exception exception = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class);
+        log.error("Async delivery of case {} failed: {}", caseId, exception.getMessage());
+        deliveryStatusTracker.markFailed(caseId, exception.getMessage());
+    }
+}
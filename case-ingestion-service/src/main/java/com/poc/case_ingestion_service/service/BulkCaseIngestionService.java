@@ -0,0 +1,113 @@
+package com.poc.case_ingestion_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poc.case_ingestion_service.model.BulkRecordResult;
+import com.poc.case_ingestion_service.model.BulkSubmissionResult;
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.routes.CaseIngestionRoute;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ProducerTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a bulk payload (NDJSON or a JSON array of case reports) record by record: each record is
+ * bound, validated and enriched on its own and the valid ones are published to Kafka in batches of
+ * {@code case-ingestion.bulk.batch-size}. Only the current record and the pending batch are held in memory.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkCaseIngestionService {
+
+    private final ObjectMapper objectMapper;
+    private final ProducerTemplate producerTemplate;
+
+    @Value("${case-ingestion.bulk.batch-size:500}")
+    private int batchSize;
+
+    public BulkSubmissionResult submitBulk(InputStream payload) throws IOException {
+        BulkSubmissionResult result = new BulkSubmissionResult();
+        List<CaseReport> batch = new ArrayList<>(batchSize);
+        List<BulkRecordResult> batchResults = new ArrayList<>();
+
+        // Reading from the stream (not a caller-supplied parser) lets the iterator unwrap a root array,
+        // so both a root-level sequence (NDJSON) and the elements of a root array come out one by one
+        try (MappingIterator<JsonNode> records = objectMapper.readerFor(JsonNode.class).readValues(payload)) {
+
+            int index = 0;
+            while (records.hasNextValue()) {
+                JsonNode record = records.nextValue();
+                batchResults.add(prepareRecord(index++, record, batch));
+                if (batch.size() >= batchSize) {
+                    publishBatch(batch, batchResults, result);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Malformed JSON cannot be resynchronised; keep what was read before it
+            log.warn("Bulk payload is malformed, stopping: {}", e.getOriginalMessage());
+            result.setTruncated(true);
+            result.setError(e.getOriginalMessage());
+        }
+
+        publishBatch(batch, batchResults, result);
+
+        log.info("Bulk submission processed: {} records, {} accepted, {} rejected, {} failed",
+                result.getTotal(), result.getAccepted(), result.getRejected(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * Bind, validate and enrich one record; valid records are added to the pending batch. A record
+     * without caseId gets one before validation, so it is accepted like a single submission.
+     */
+    private BulkRecordResult prepareRecord(int index, JsonNode record, List<CaseReport> batch) {
+        String caseId = record.hasNonNull("caseId") ? record.get("caseId").asText() : null;
+        try {
+            CaseReport caseReport = objectMapper.treeToValue(record, CaseReport.class);
+            caseId = CaseIds.assignIfMissing(caseReport);
+            caseReport = producerTemplate.requestBody(CaseIngestionRoute.PREPARE_CASE, caseReport, CaseReport.class);
+            batch.add(caseReport);
+            return new BulkRecordResult(index, caseReport.getCaseId(), BulkRecordResult.Status.ACCEPTED, null);
+        } catch (CamelExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return new BulkRecordResult(index, caseId, BulkRecordResult.Status.REJECTED, cause.getMessage());
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            String message = e instanceof JsonProcessingException ? ((JsonProcessingException) e).getOriginalMessage() : e.getMessage();
+            return new BulkRecordResult(index, caseId, BulkRecordResult.Status.REJECTED, message);
+        }
+    }
+
+    /**
+     * Publish the pending batch and move its record results (rejected ones included, in input order) to the summary
+     */
+    private void publishBatch(List<CaseReport> batch, List<BulkRecordResult> batchResults, BulkSubmissionResult result) {
+        if (!batch.isEmpty()) {
+            try {
+                producerTemplate.sendBody(CaseIngestionRoute.PUBLISH_CASE_BATCH, new ArrayList<>(batch));
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.error("Publishing bulk batch of {} cases failed: {}", batch.size(), cause.getMessage());
+                batchResults.stream()
+                        .filter(recordResult -> recordResult.getStatus() == BulkRecordResult.Status.ACCEPTED)
+                        .forEach(recordResult -> {
+                            recordResult.setStatus(BulkRecordResult.Status.FAILED);
+                            recordResult.setError(cause.getMessage());
+                        });
+            }
+        }
+        batchResults.forEach(result::add);
+        batch.clear();
+        batchResults.clear();
+    }
+}
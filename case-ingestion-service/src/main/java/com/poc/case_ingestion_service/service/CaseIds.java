@@ -0,0 +1,25 @@
+package com.poc.case_ingestion_service.service;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+
+import java.util.UUID;
+
+/**
+ * Case IDs for cases submitted without one. IDs are random UUIDs, so cases submitted in the same
+ * millisecond (one bulk batch, concurrent submits, several ingestion instances) never share an ID.
+ */
+public final class CaseIds {
+
+    private CaseIds() {
+    }
+
+    /**
+     * Give the case a new ID when it has none and return its ID
+     */
+    public static String assignIfMissing(CaseReport caseReport) {
+        if (caseReport.getCaseId() == null || caseReport.getCaseId().isEmpty()) {
+            caseReport.setCaseId("CASE-" + UUID.randomUUID());
+        }
+        return caseReport.getCaseId();
+    }
+}
@@ -1,6 +1,10 @@
 package com.poc.case_ingestion_service.service;
 
+import com.poc.case_ingestion_service.exception.SubmissionQueueFullException;
 import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.DeliveryStatus;
+import com.poc.case_ingestion_service.routes.CaseIngestionRoute;
+import org.apache.camel.CamelExecutionException;
 import org.apache.camel.ProducerTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -11,11 +15,38 @@ public class CaseIngestionService {
     @Autowired
     private ProducerTemplate producerTemplate;
 
+    @Autowired
+    private DeliveryStatusTracker deliveryStatusTracker;
+
     public void processCase(CaseReport caseReport) {
+        CaseIds.assignIfMissing(caseReport);
         // Send to Camel route for processing
         producerTemplate.sendBody("direct:processCase", caseReport);
     }
 
+    /**
+     * Queue a case for publishing and return its case ID without waiting for Kafka.
+     * Throws {@link SubmissionQueueFullException} when the submission queue has no room.
+     */
+    public String submitCaseAsync(CaseReport caseReport) {
+        String caseId = CaseIds.assignIfMissing(caseReport);
+        deliveryStatusTracker.markQueued(caseId);
+        try {
+            producerTemplate.sendBody(CaseIngestionRoute.SUBMISSION_QUEUE, caseReport);
+        } catch (CamelExecutionException e) {
+            deliveryStatusTracker.forget(caseId);
+            if (e.getCause() instanceof IllegalStateException) {
+                throw new SubmissionQueueFullException("Submission queue is full, retry later", e.getCause());
+            }
+            throw e;
+        }
+        return caseId;
+    }
+
+    public DeliveryStatus getDeliveryStatus(String caseId) {
+        return deliveryStatusTracker.get(caseId);
+    }
+
     public CaseReport getCaseById(String caseId) {
         // Use requestBody to get a response from the route
         return producerTemplate.requestBody("direct:getCaseById", caseId, CaseReport.class);
@@ -0,0 +1,48 @@
+package com.poc.case_ingestion_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.poc.case_ingestion_service.model.DeliveryStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Delivery state of asynchronously submitted cases, kept for {@code case-ingestion.async.status-ttl-minutes}
+ * after the last update so clients can poll until the record is acknowledged by Kafka.
+ */
+@Component
+public class DeliveryStatusTracker {
+
+    private final Cache<String, DeliveryStatus> statuses;
+
+    public DeliveryStatusTracker(@Value("${case-ingestion.async.status-ttl-minutes:30}") long ttlMinutes,
+                                 @Value("${case-ingestion.async.max-tracked:100000}") long maxTracked) {
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .maximumSize(maxTracked)
+                .build();
+    }
+
+    public void markQueued(String caseId) {
+        statuses.put(caseId, new DeliveryStatus(caseId, DeliveryStatus.State.QUEUED, null, null, null, LocalDateTime.now()));
+    }
+
+    public void markDelivered(String caseId, Integer partition, Long offset) {
+        statuses.put(caseId, new DeliveryStatus(caseId, DeliveryStatus.State.DELIVERED, partition, offset, null, LocalDateTime.now()));
+    }
+
+    public void markFailed(String caseId, String error) {
+        statuses.put(caseId, new DeliveryStatus(caseId, DeliveryStatus.State.FAILED, null, null, error, LocalDateTime.now()));
+    }
+
+    public void forget(String caseId) {
+        statuses.invalidate(caseId);
+    }
+
+    public DeliveryStatus get(String caseId) {
+        return statuses.getIfPresent(caseId);
+    }
+}
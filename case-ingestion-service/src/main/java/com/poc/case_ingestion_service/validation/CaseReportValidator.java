@@ -0,0 +1,78 @@
+package com.poc.case_ingestion_service.validation;
+
+import com.poc.case_ingestion_service.exception.CaseValidationException;
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.Evidence;
+import com.poc.case_ingestion_service.model.Person;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Enforces the CaseReport constraints in plain Java: required and non-blank caseId, required
+ * caseType, status and reportedAt, and no null persons or evidence. Enum fields are typed, so values
+ * outside their enum are already rejected when the request is bound. A valid case allocates nothing.
+ * All violations of a case are collected and reported together in one {@link CaseValidationException}.
+ */
+@Component
+public class CaseReportValidator {
+
+    public void validate(CaseReport caseReport) {
+        if (caseReport == null) {
+            throw new CaseValidationException(List.of("case report is required"));
+        }
+
+        List<String> violations = Collections.emptyList();
+        if (caseReport.getCaseId() == null || caseReport.getCaseId().isBlank()) {
+            violations = add(violations, "caseId is required");
+        }
+        if (caseReport.getCaseType() == null) {
+            violations = add(violations, "caseType is required");
+        }
+        if (caseReport.getStatus() == null) {
+            violations = add(violations, "status is required");
+        }
+        if (caseReport.getReportedAt() == null) {
+            violations = add(violations, "reportedAt is required");
+        }
+
+        List<Person> persons = caseReport.getInvolvedPersons();
+        if (persons != null) {
+            for (int i = 0; i < persons.size(); i++) {
+                Person person = persons.get(i);
+                if (person == null) {
+                    violations = add(violations, "involvedPersons[" + i + "] is null");
+                } else if (person.getRole() == null) {
+                    violations = add(violations, "involvedPersons[" + i + "].role is required");
+                }
+            }
+        }
+
+        List<Evidence> evidence = caseReport.getEvidence();
+        if (evidence != null) {
+            for (int i = 0; i < evidence.size(); i++) {
+                Evidence item = evidence.get(i);
+                if (item == null) {
+                    violations = add(violations, "evidence[" + i + "] is null");
+                } else if (item.getType() == null) {
+                    violations = add(violations, "evidence[" + i + "].type is required");
+                }
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            throw new CaseValidationException(violations);
+        }
+    }
+
+    /**
+     * The violation list is only allocated once there is something to report
+     */
+    private static List<String> add(List<String> violations, String violation) {
+        List<String> list = violations.isEmpty() ? new ArrayList<>(4) : violations;
+        list.add(violation);
+        return list;
+    }
+}
@@ -0,0 +1,82 @@
+package com.poc.case_ingestion_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.poc.case_ingestion_service.model.CaseReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON binding of a CaseReport, including the {@code @JsonFormat} LocalDateTime fields, by how the
+ * binding is set up:
+ * <ul>
+ *     <li>{@code MAPPER}: {@code ObjectMapper.readValue/writeValueAsBytes} with the type per call, as
+ *     Camel's Jackson data format and most Spring code do</li>
+ *     <li>{@code READER}: an ObjectReader/ObjectWriter created once for CaseReport, as {@code CaseReportCodec} does</li>
+ *     <li>{@code BLACKBIRD}: the same with the Blackbird module, which replaces reflective getters and
+ *     setters with generated lambdas</li>
+ * </ul>
+ * No infrastructure needed. Run with {@code -prof gc} to see bytes allocated per operation:
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-classpath %classpath org.openjdk.jmh.Main CaseJsonBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class CaseJsonBenchmark {
+
+    @Param({"MAPPER", "READER", "BLACKBIRD"})
+    private String binding;
+
+    @Param({"3", "50"})
+    private int personsPerCase;
+
+    private ObjectMapper mapper;
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private CaseReport caseReport;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper().findAndRegisterModules();
+        if ("BLACKBIRD".equals(binding)) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        reader = mapper.readerFor(CaseReport.class);
+        writer = mapper.writerFor(CaseReport.class);
+        caseReport = SampleCases.caseReport(personsPerCase, 2);
+        json = writer.writeValueAsBytes(caseReport);
+    }
+
+    @Benchmark
+    public CaseReport deserialize() throws IOException {
+        return "MAPPER".equals(binding) ? mapper.readValue(json, CaseReport.class) : reader.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return "MAPPER".equals(binding) ? mapper.writeValueAsBytes(caseReport) : writer.writeValueAsBytes(caseReport);
+    }
+}
@@ -0,0 +1,141 @@
+package com.poc.case_ingestion_service.benchmark;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.validation.CaseReportValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Predicate;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.Language;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of validating one case:
+ * <ul>
+ *     <li>{@code simplePredicates}: the two Simple-language conditions the validation route used to
+ *     evaluate per exchange (caseType and status not null only)</li>
+ *     <li>{@code compiledValidator}: {@link CaseReportValidator}, the full constraint set including
+ *     persons, evidence and their typed role and type fields</li>
+ *     <li>{@code beanValidation}: the {@code @NotBlank}/{@code @NotNull} constraints on CaseReport through
+ *     a Jakarta Validator</li>
+ *     <li>{@code plainJava}: the two null tests alone, the floor for any validator</li>
+ *     <li>{@code simpleChoiceRoute} and {@code validatorRoute}: one exchange through a direct route with the
+ *     previous {@code choice()} definition (its log steps left out) and through the current validator
+ *     route, so the difference is the per-record saving on {@code direct:validateCase}</li>
+ * </ul>
+ * No infrastructure needed. Run with {@code -prof gc} to see bytes allocated per validation:
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-classpath %classpath org.openjdk.jmh.Main CaseValidationBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class CaseValidationBenchmark {
+
+    private CamelContext camelContext;
+    private Predicate caseTypeMissing;
+    private Predicate statusMissing;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ProducerTemplate producerTemplate;
+    private final CaseReportValidator caseReportValidator = new CaseReportValidator();
+    private CaseReport caseReport;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        camelContext = new DefaultCamelContext();
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:simpleChoice")
+                        .choice()
+                        .when(simple("${body.caseType} == null"))
+                        .throwException(new IllegalArgumentException("Case type is required"))
+                        .when(simple("${body.status} == null"))
+                        .throwException(new IllegalArgumentException("Case status is required"))
+                        .end();
+
+                from("direct:validator")
+                        .process(exchange -> caseReportValidator.validate(exchange.getIn().getBody(CaseReport.class)));
+            }
+        });
+        camelContext.start();
+        producerTemplate = camelContext.createProducerTemplate();
+        Language simple = camelContext.resolveLanguage("simple");
+        caseTypeMissing = simple.createPredicate("${body.caseType} == null");
+        statusMissing = simple.createPredicate("${body.status} == null");
+        caseTypeMissing.init(camelContext);
+        statusMissing.init(camelContext);
+
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        caseReport = SampleCases.caseReport(3, 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        producerTemplate.stop();
+        validatorFactory.close();
+        camelContext.stop();
+    }
+
+    @Benchmark
+    public boolean simplePredicates() {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getIn().setBody(caseReport);
+        return !caseTypeMissing.matches(exchange) && !statusMissing.matches(exchange);
+    }
+
+    @Benchmark
+    public CaseReport compiledValidator() {
+        caseReportValidator.validate(caseReport);
+        return caseReport;
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CaseReport>> beanValidation() {
+        return validator.validate(caseReport);
+    }
+
+    @Benchmark
+    public boolean plainJava() {
+        return caseReport.getCaseType() != null && caseReport.getStatus() != null;
+    }
+
+    @Benchmark
+    public Object simpleChoiceRoute() {
+        return producerTemplate.requestBody("direct:simpleChoice", caseReport);
+    }
+
+    @Benchmark
+    public Object validatorRoute() {
+        return producerTemplate.requestBody("direct:validator", caseReport);
+    }
+}
@@ -0,0 +1,69 @@
+package com.poc.case_ingestion_service.benchmark;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.CaseStatus;
+import com.poc.case_ingestion_service.model.CaseType;
+import com.poc.case_ingestion_service.model.Evidence;
+import com.poc.case_ingestion_service.model.EvidenceType;
+import com.poc.case_ingestion_service.model.Location;
+import com.poc.case_ingestion_service.model.Person;
+import com.poc.case_ingestion_service.model.PersonRole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the fixed case report the benchmarks encode, decode and validate.
+ */
+final class SampleCases {
+
+    private SampleCases() {
+    }
+
+    static CaseReport caseReport(int persons, int evidence) {
+        CaseReport caseReport = new CaseReport();
+        caseReport.setCaseId("BENCH-0001");
+        caseReport.setCaseType(CaseType.ROBBERY);
+        caseReport.setStatus(CaseStatus.OPEN);
+        caseReport.setReportedAt(LocalDateTime.of(2024, 3, 1, 22, 15, 0));
+        caseReport.setDescription("Armed robbery at a convenience store, two suspects fled on foot towards the station");
+        caseReport.setReportingOfficer("OFFICER-17");
+
+        Location location = new Location();
+        location.setAddress("221 Main Street");
+        location.setPostalCode("40001");
+        location.setCity("Springfield");
+        location.setState("IL");
+        location.setCountry("US");
+        location.setDistrict("DISTRICT-4");
+        caseReport.setLocation(location);
+
+        List<Person> involvedPersons = new ArrayList<>(persons);
+        for (int i = 0; i < persons; i++) {
+            Person person = new Person();
+            person.setPersonId("P-" + (1000 + i));
+            person.setFirstName("First" + i);
+            person.setLastName("Last" + i);
+            person.setRole(i % 3 == 0 ? PersonRole.SUSPECT : i % 3 == 1 ? PersonRole.VICTIM : PersonRole.WITNESS);
+            person.setContactNumber("555-01" + i);
+            person.setAddress(i + " Side Street");
+            involvedPersons.add(person);
+        }
+        caseReport.setInvolvedPersons(involvedPersons);
+
+        List<Evidence> evidenceList = new ArrayList<>(evidence);
+        for (int i = 0; i < evidence; i++) {
+            Evidence item = new Evidence();
+            item.setEvidenceId("E-0001-" + i);
+            item.setType(i % 2 == 0 ? EvidenceType.PHYSICAL : EvidenceType.DIGITAL);
+            item.setDescription("Evidence item " + i + " collected at the scene");
+            item.setCollectedBy("OFFICER-17");
+            item.setCollectedAt(LocalDateTime.of(2024, 3, 1, 23, 0, 0).plusMinutes(i));
+            evidenceList.add(item);
+        }
+        caseReport.setEvidence(evidenceList);
+
+        return caseReport;
+    }
+}
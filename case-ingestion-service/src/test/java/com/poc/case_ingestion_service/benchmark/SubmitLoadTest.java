@@ -0,0 +1,161 @@
+package com.poc.case_ingestion_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.CaseStatus;
+import com.poc.case_ingestion_service.model.CaseType;
+import com.poc.case_ingestion_service.model.Location;
+import com.poc.case_ingestion_service.model.Person;
+import com.poc.case_ingestion_service.model.PersonRole;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test against a running ingestion service: {@code concurrency} clients submit
+ * cases back to back for {@code durationSeconds} and the run reports throughput and latency
+ * percentiles. Run it once against the default build and once against the virtual-thread build
+ * to compare the two:
+ *
+ * <pre>
+ * mvn spring-boot:run                      # or: mvn -Pvirtual-threads spring-boot:run
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.poc.case_ingestion_service.benchmark.SubmitLoadTest \
+ *     -Dexec.args="http://localhost:8080 400 60"
+ * </pre>
+ *
+ * The first 10% of the run is treated as warm-up and left out of the numbers.
+ */
+public class SubmitLoadTest {
+
+    private static final int MAX_SAMPLES_PER_CLIENT = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int durationSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+        URI submitUri = URI.create(baseUrl + "/api/cases/submit");
+
+        long start = System.nanoTime();
+        long warmupEnd = start + Duration.ofSeconds(durationSeconds).toNanos() / 10;
+        long end = start + Duration.ofSeconds(durationSeconds).toNanos();
+
+        long[][] latencies = new long[concurrency][];
+        int[] sampleCounts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+
+        for (int c = 0; c < concurrency; c++) {
+            int client = c;
+            clients.submit(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                int seq = 0;
+                try {
+                    while (System.nanoTime() < end) {
+                        byte[] body = objectMapper.writeValueAsBytes(caseReport(client, seq++));
+                        HttpRequest request = HttpRequest.newBuilder(submitUri)
+                                .header("Content-Type", "application/json")
+                                .timeout(Duration.ofSeconds(30))
+                                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                                .build();
+
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response;
+                        try {
+                            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        long received = System.nanoTime();
+
+                        if (response.statusCode() >= 300) {
+                            errors.incrementAndGet();
+                        } else if (sent >= warmupEnd && count < MAX_SAMPLES_PER_CLIENT) {
+                            if (count == samples.length) {
+                                samples = Arrays.copyOf(samples, samples.length * 2);
+                            }
+                            samples[count++] = received - sent;
+                        }
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                } finally {
+                    latencies[client] = samples;
+                    sampleCounts[client] = count;
+                    done.countDown();
+                }
+            });
+        }
+
+        done.await();
+        clients.shutdown();
+
+        int total = Arrays.stream(sampleCounts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < concurrency; c++) {
+            System.arraycopy(latencies[c], 0, all, offset, sampleCounts[c]);
+            offset += sampleCounts[c];
+        }
+        Arrays.sort(all);
+
+        double measuredSeconds = (end - warmupEnd) / 1e9;
+        System.out.printf("clients=%d duration=%ds requests=%d errors=%d%n",
+                concurrency, durationSeconds, total, errors.get());
+        System.out.printf("throughput=%.1f req/s p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                total / measuredSeconds, percentile(all, 0.50), percentile(all, 0.99),
+                percentile(all, 0.999), total > 0 ? all[total - 1] / 1e6 : 0.0);
+        System.exit(0);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static CaseReport caseReport(int client, int seq) {
+        CaseReport caseReport = new CaseReport();
+        caseReport.setCaseId("LOAD-" + client + "-" + seq);
+        caseReport.setCaseType(seq % 2 == 0 ? CaseType.THEFT : CaseType.FRAUD);
+        caseReport.setStatus(CaseStatus.OPEN);
+        caseReport.setReportedAt(LocalDateTime.now());
+        caseReport.setDescription("Load test case " + seq + " from client " + client);
+        caseReport.setReportingOfficer("OFFICER-" + client % 50);
+
+        Location location = new Location();
+        location.setAddress(seq % 500 + " Main Street");
+        location.setCity("Springfield");
+        location.setDistrict("DISTRICT-" + seq % 20);
+        caseReport.setLocation(location);
+
+        Person person = new Person();
+        person.setPersonId("P-" + (client * 31 + seq) % 10_000);
+        person.setFirstName("First");
+        person.setLastName("Last" + seq);
+        person.setRole(PersonRole.SUSPECT);
+        caseReport.setInvolvedPersons(List.of(person));
+        return caseReport;
+    }
+}
@@ -0,0 +1,75 @@
+package com.poc.case_ingestion_service.benchmark;
+
+import com.poc.case_ingestion_service.codec.CaseReportCodec;
+import com.poc.case_ingestion_service.codec.CaseWireFormat;
+import com.poc.case_ingestion_service.model.CaseReport;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode time and encoded size of a CaseReport per wire format. No infrastructure needed.
+ * The {@code bytesPerCase} column reports the encoded size; add {@code -prof gc} for allocation rates.
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-classpath %classpath org.openjdk.jmh.Main WireFormatBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private CaseWireFormat format;
+
+    @Param({"3", "50"})
+    private int personsPerCase;
+
+    @Param({"2", "100"})
+    private int evidencePerCase;
+
+    private final CaseReportCodec codec = new CaseReportCodec();
+    private CaseReport caseReport;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        caseReport = SampleCases.caseReport(personsPerCase, evidencePerCase);
+        encoded = codec.encode(caseReport, format);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytesPerCase;
+    }
+
+    @Benchmark
+    public byte[] encode(Size size) {
+        byte[] bytes = codec.encode(caseReport, format);
+        size.bytesPerCase = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public CaseReport decode() {
+        return codec.decode(encoded, format);
+    }
+}
@@ -0,0 +1,109 @@
+package com.poc.case_ingestion_service.codec;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.CaseStatus;
+import com.poc.case_ingestion_service.model.CaseType;
+import com.poc.case_ingestion_service.model.Evidence;
+import com.poc.case_ingestion_service.model.EvidenceType;
+import com.poc.case_ingestion_service.model.Location;
+import com.poc.case_ingestion_service.model.Person;
+import com.poc.case_ingestion_service.model.PersonRole;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CaseReportCodecTest {
+
+	private final CaseReportCodec codec = new CaseReportCodec();
+
+	@ParameterizedTest
+	@EnumSource(CaseWireFormat.class)
+	void roundTripsEveryFormat(CaseWireFormat format) {
+		CaseReport caseReport = caseReport();
+
+		assertThat(codec.decode(codec.encode(caseReport, format), format)).isEqualTo(caseReport);
+	}
+
+	@Test
+	void writesEnumsByNameAndDatesInTheLegacyPattern() {
+		String json = new String(codec.encode(caseReport(), CaseWireFormat.JSON), StandardCharsets.UTF_8);
+
+		assertThat(json)
+				.contains("\"caseType\":\"ROBBERY\"")
+				.contains("\"status\":\"OPEN\"")
+				.contains("\"role\":\"SUSPECT\"")
+				.contains("\"reportedAt\":\"2024-03-01 10:15:30\"");
+	}
+
+	@Test
+	void readsLegacyStringValuesLeniently() {
+		String legacy = """
+				{"caseId":"C-1","caseType":"robbery","status":"Closed","reportedAt":"2024-03-01 10:15:30",
+				 "involvedPersons":[{"personId":"P-1","role":"witness"},{"personId":"P-2","role":"informant"}],
+				 "evidence":[{"evidenceId":"E-1","type":"dna"}]}
+				""";
+
+		CaseReport caseReport = codec.decode(legacy.getBytes(StandardCharsets.UTF_8), CaseWireFormat.JSON);
+
+		assertThat(caseReport.getCaseType()).isEqualTo(CaseType.ROBBERY);
+		assertThat(caseReport.getStatus()).isEqualTo(CaseStatus.CLOSED);
+		assertThat(caseReport.getReportedAt()).isEqualTo(LocalDateTime.of(2024, 3, 1, 10, 15, 30));
+		assertThat(caseReport.getInvolvedPersons()).extracting(Person::getRole).containsExactly(PersonRole.WITNESS, null);
+		assertThat(caseReport.getEvidence().get(0).getType()).isNull();
+	}
+
+	@Test
+	void readsUnknownCaseTypeAsOther() {
+		String json = "{\"caseId\":\"C-1\",\"caseType\":\"CYBERCRIME\",\"status\":\"ARCHIVED\"}";
+
+		CaseReport caseReport = codec.decode(json.getBytes(StandardCharsets.UTF_8), CaseWireFormat.JSON);
+
+		assertThat(caseReport.getCaseType()).isEqualTo(CaseType.OTHER);
+		assertThat(caseReport.getStatus()).isNull();
+	}
+
+	@Test
+	void resolvesFormatHeaders() {
+		assertThat(CaseWireFormat.fromHeader(null)).isEqualTo(CaseWireFormat.JSON);
+		assertThat(CaseWireFormat.fromHeader(" ")).isEqualTo(CaseWireFormat.JSON);
+		assertThat(CaseWireFormat.fromHeader(" smile ")).isEqualTo(CaseWireFormat.SMILE);
+		assertThat(CaseWireFormat.fromHeader(CaseWireFormat.CBOR.headerValue())).isEqualTo(CaseWireFormat.CBOR);
+		assertThatThrownBy(() -> CaseWireFormat.fromHeader("avro")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static CaseReport caseReport() {
+		CaseReport caseReport = new CaseReport();
+		caseReport.setCaseId("C-1");
+		caseReport.setCaseType(CaseType.ROBBERY);
+		caseReport.setStatus(CaseStatus.OPEN);
+		caseReport.setReportedAt(LocalDateTime.of(2024, 3, 1, 10, 15, 30));
+		caseReport.setDescription("Armed robbery at a corner shop");
+		caseReport.setReportingOfficer("OFFICER-7");
+
+		Location location = new Location();
+		location.setAddress("12 Main Street");
+		location.setCity("Springfield");
+		location.setDistrict("NORTH");
+		caseReport.setLocation(location);
+
+		Person person = new Person();
+		person.setPersonId("P-1");
+		person.setFirstName("Alex");
+		person.setRole(PersonRole.SUSPECT);
+		caseReport.setInvolvedPersons(List.of(person));
+
+		Evidence evidence = new Evidence();
+		evidence.setEvidenceId("E-1");
+		evidence.setType(EvidenceType.PHYSICAL);
+		evidence.setCollectedAt(LocalDateTime.of(2024, 3, 1, 11, 0, 0));
+		caseReport.setEvidence(List.of(evidence));
+		return caseReport;
+	}
+}
@@ -0,0 +1,76 @@
+package com.poc.case_ingestion_service.routes;
+
+import com.poc.case_ingestion_service.codec.CaseReportCodec;
+import com.poc.case_ingestion_service.exception.CaseValidationException;
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.CaseStatus;
+import com.poc.case_ingestion_service.model.CaseType;
+import com.poc.case_ingestion_service.service.DeliveryStatusTracker;
+import com.poc.case_ingestion_service.validation.CaseReportValidator;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class CaseIngestionRouteTest {
+
+	private CamelContext camelContext;
+	private ProducerTemplate producerTemplate;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		camelContext = new DefaultCamelContext();
+		camelContext.addRoutes(new CaseIngestionRoute(mock(DeliveryStatusTracker.class), mock(CaseReportCodec.class),
+				mock(RestClient.class), new CaseReportValidator()));
+		// only the preparation routes; the Kafka and submission routes stay stopped
+		camelContext.setAutoStartup(false);
+		camelContext.start();
+		for (String routeId : new String[] {"case-preparation-route", "case-validation-route", "case-enrichment-route"}) {
+			camelContext.getRouteController().startRoute(routeId);
+		}
+		producerTemplate = camelContext.createProducerTemplate();
+	}
+
+	@AfterEach
+	void tearDown() {
+		camelContext.stop();
+	}
+
+	@Test
+	void rejectsCaseMissingRequiredFieldsBeforeEnrichment() {
+		CaseReport caseReport = new CaseReport();
+		caseReport.setCaseId("C-1");
+		caseReport.setStatus(CaseStatus.OPEN);
+
+		assertThatThrownBy(() -> producerTemplate.requestBody(CaseIngestionRoute.PREPARE_CASE, caseReport, CaseReport.class))
+				.isInstanceOf(CamelExecutionException.class)
+				.cause()
+				.isInstanceOfSatisfying(CaseValidationException.class, e -> assertThat(e.getViolations())
+						.containsExactly("caseType is required", "reportedAt is required"));
+		assertThat(caseReport.getReportedAt()).isNull();
+	}
+
+	@Test
+	void passesValidCaseThrough() {
+		CaseReport caseReport = new CaseReport();
+		caseReport.setCaseId("C-1");
+		caseReport.setCaseType(CaseType.THEFT);
+		caseReport.setStatus(CaseStatus.OPEN);
+		caseReport.setReportedAt(LocalDateTime.of(2024, 3, 1, 10, 15, 30));
+
+		CaseReport prepared = producerTemplate.requestBody(CaseIngestionRoute.PREPARE_CASE, caseReport, CaseReport.class);
+
+		assertThat(prepared.getCaseId()).isEqualTo("C-1");
+		assertThat(prepared.getReportedAt()).isEqualTo(LocalDateTime.of(2024, 3, 1, 10, 15, 30));
+	}
+}
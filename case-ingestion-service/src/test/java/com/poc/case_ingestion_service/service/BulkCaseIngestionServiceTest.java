@@ -0,0 +1,95 @@
+package com.poc.case_ingestion_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poc.case_ingestion_service.model.BulkRecordResult;
+import com.poc.case_ingestion_service.model.BulkSubmissionResult;
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.routes.CaseIngestionRoute;
+import org.apache.camel.ProducerTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkCaseIngestionServiceTest {
+
+	private ProducerTemplate producerTemplate;
+	private BulkCaseIngestionService service;
+
+	@BeforeEach
+	void setUp() {
+		producerTemplate = mock(ProducerTemplate.class);
+		when(producerTemplate.requestBody(eq(CaseIngestionRoute.PREPARE_CASE), any(), eq(CaseReport.class)))
+				.thenAnswer(invocation -> invocation.getArgument(1));
+		service = new BulkCaseIngestionService(new ObjectMapper(), producerTemplate);
+		ReflectionTestUtils.setField(service, "batchSize", 2);
+	}
+
+	@Test
+	void readsNdjson() throws IOException {
+		BulkSubmissionResult result = submit("""
+				{"caseId":"C-1"}
+				{"caseId":"C-2"}
+				{"caseId":"C-3"}
+				""");
+
+		assertAccepted(result, "C-1", "C-2", "C-3");
+	}
+
+	@Test
+	void unwrapsRootArray() throws IOException {
+		BulkSubmissionResult result = submit("""
+				[{"caseId":"C-1"},{"caseId":"C-2"},{"caseId":"C-3"}]
+				""");
+
+		assertAccepted(result, "C-1", "C-2", "C-3");
+	}
+
+	@Test
+	void givesRecordsWithoutIdDistinctCaseIds() throws IOException {
+		BulkSubmissionResult result = submit("""
+				{"status":"OPEN"}
+				{"status":"OPEN"}
+				{"caseId":"","status":"OPEN"}
+				""");
+
+		assertThat(result.getAccepted()).isEqualTo(3);
+		assertThat(result.getRecords()).extracting(BulkRecordResult::getCaseId)
+				.allMatch(caseId -> caseId.startsWith("CASE-"))
+				.doesNotHaveDuplicates();
+	}
+
+	@Test
+	void keepsRecordsReadBeforeMalformedJson() throws IOException {
+		BulkSubmissionResult result = submit("""
+				[{"caseId":"C-1"},{"caseId":
+				""");
+
+		assertThat(result.isTruncated()).isTrue();
+		assertThat(result.getAccepted()).isEqualTo(1);
+	}
+
+	private BulkSubmissionResult submit(String payload) throws IOException {
+		return service.submitBulk(new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private void assertAccepted(BulkSubmissionResult result, String... caseIds) {
+		assertThat(result.isTruncated()).isFalse();
+		assertThat(result.getAccepted()).isEqualTo(caseIds.length);
+		assertThat(result.getRecords()).extracting(BulkRecordResult::getCaseId).containsExactly(caseIds);
+		// batch size 2: one full batch and the remainder
+		verify(producerTemplate, times(2)).sendBody(eq(CaseIngestionRoute.PUBLISH_CASE_BATCH), any(List.class));
+	}
+}
@@ -0,0 +1,92 @@
+package com.poc.case_ingestion_service.validation;
+
+import com.poc.case_ingestion_service.exception.CaseValidationException;
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.CaseStatus;
+import com.poc.case_ingestion_service.model.CaseType;
+import com.poc.case_ingestion_service.model.Evidence;
+import com.poc.case_ingestion_service.model.EvidenceType;
+import com.poc.case_ingestion_service.model.Person;
+import com.poc.case_ingestion_service.model.PersonRole;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CaseReportValidatorTest {
+
+	private final CaseReportValidator validator = new CaseReportValidator();
+
+	@Test
+	void acceptsCompleteCase() {
+		assertThatCode(() -> validator.validate(validCase())).doesNotThrowAnyException();
+	}
+
+	@Test
+	void acceptsCaseWithoutPersonsOrEvidence() {
+		CaseReport caseReport = validCase();
+		caseReport.setInvolvedPersons(null);
+		caseReport.setEvidence(List.of());
+
+		assertThatCode(() -> validator.validate(caseReport)).doesNotThrowAnyException();
+	}
+
+	@Test
+	void rejectsMissingCase() {
+		assertThatThrownBy(() -> validator.validate(null))
+				.isInstanceOf(CaseValidationException.class)
+				.hasMessage("case report is required");
+	}
+
+	@Test
+	void reportsEveryMissingRequiredField() {
+		CaseReport caseReport = new CaseReport();
+		caseReport.setCaseId("  ");
+
+		assertThatThrownBy(() -> validator.validate(caseReport))
+				.isInstanceOfSatisfying(CaseValidationException.class, e -> assertThat(e.getViolations()).containsExactly(
+						"caseId is required", "caseType is required", "status is required", "reportedAt is required"));
+	}
+
+	@Test
+	void reportsNullAndIncompletePersonsAndEvidenceByIndex() {
+		CaseReport caseReport = validCase();
+		caseReport.setInvolvedPersons(Arrays.asList(person(PersonRole.VICTIM), null, person(null)));
+		caseReport.setEvidence(Arrays.asList(null, evidence(null)));
+
+		assertThatThrownBy(() -> validator.validate(caseReport))
+				.isInstanceOf(CaseValidationException.class)
+				.hasMessage("involvedPersons[1] is null; involvedPersons[2].role is required; "
+						+ "evidence[0] is null; evidence[1].type is required");
+	}
+
+	private static CaseReport validCase() {
+		CaseReport caseReport = new CaseReport();
+		caseReport.setCaseId("C-1");
+		caseReport.setCaseType(CaseType.THEFT);
+		caseReport.setStatus(CaseStatus.OPEN);
+		caseReport.setReportedAt(LocalDateTime.of(2024, 3, 1, 10, 15, 30));
+		caseReport.setInvolvedPersons(List.of(person(PersonRole.SUSPECT)));
+		caseReport.setEvidence(List.of(evidence(EvidenceType.DIGITAL)));
+		return caseReport;
+	}
+
+	private static Person person(PersonRole role) {
+		Person person = new Person();
+		person.setPersonId("P-1");
+		person.setRole(role);
+		return person;
+	}
+
+	private static Evidence evidence(EvidenceType type) {
+		Evidence evidence = new Evidence();
+		evidence.setEvidenceId("E-1");
+		evidence.setType(type);
+		return evidence;
+	}
+}
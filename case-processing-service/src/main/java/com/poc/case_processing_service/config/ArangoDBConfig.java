@@ -2,6 +2,10 @@ package com.poc.case_processing_service.config;
 
 import com.arangodb.ArangoDB;
 import com.arangodb.ArangoDatabase;
+import com.arangodb.ArangoDatabaseAsync;
+import com.arangodb.ContentType;
+import com.arangodb.serde.jackson.JacksonSerde;
+import com.poc.case_processing_service.schema.GraphSchema;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,12 +28,21 @@ public class ArangoDBConfig {
     @Value("${arangodb.password}")
     private String password;
 
+    @Value("${arangodb.max-connections:20}")
+    private int maxConnections;
+
+    @Value("${graph.indexes.case-ttl-seconds:0}")
+    private int caseTtlSeconds;
+
     @Bean
     public ArangoDB arangoDB() {
         return new ArangoDB.Builder()
                 .host(host, port)
                 .user(username)
                 .password(password)
+                .maxConnections(maxConnections)
+                .serde(JacksonSerde.of(ContentType.JSON)
+                        .configure(mapper -> mapper.registerModule(new CompactGraphModule())))
                 .build();
     }
 
@@ -42,36 +55,18 @@ public class ArangoDBConfig {
             db = arangoDB.db(database);
         }
 
-        createCollectionsIfNotExist(db);
+        new GraphSchema(db, caseTtlSeconds).apply();
 
         return db;
     }
 
-    private void createCollectionsIfNotExist(ArangoDatabase db) {
-        if (!db.collection("cases").exists()) {
-            db.createCollection("cases");
-        }
-        if (!db.collection("persons").exists()) {
-            db.createCollection("persons");
-        }
-        if (!db.collection("locations").exists()) {
-            db.createCollection("locations");
-        }
-        if (!db.collection("evidence").exists()) {
-            db.createCollection("evidence");
-        }
-
-        if (!db.collection("case_person").exists()) {
-            db.createCollection("case_person");
-        }
-        if (!db.collection("case_location").exists()) {
-            db.createCollection("case_location");
-        }
-        if (!db.collection("case_evidence").exists()) {
-            db.createCollection("case_evidence");
-        }
-        if (!db.collection("person_location").exists()) {
-            db.createCollection("person_location");
-        }
+    /**
+     * Async view of the same database through the async API of the {@link #arangoDB()} instance, so
+     * both share one connection pool. Depends on the sync bean so the database, collections and
+     * indexes exist before the first async write.
+     */
+    @Bean
+    public ArangoDatabaseAsync arangoDatabaseAsync(ArangoDB arangoDB, ArangoDatabase arangoDatabase) {
+        return arangoDB.async().db(arangoDatabase.name());
     }
 }
@@ -0,0 +1,17 @@
+package com.poc.case_processing_service.config;
+
+import com.poc.case_ingestion_service.codec.CaseReportCodec;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The case-events codec lives in the ingestion module, outside this application's component scan
+ */
+@Configuration
+public class CodecConfig {
+
+    @Bean
+    public CaseReportCodec caseReportCodec() {
+        return new CaseReportCodec();
+    }
+}
@@ -0,0 +1,80 @@
+package com.poc.case_processing_service.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.poc.case_ingestion_service.model.CaseStatus;
+import com.poc.case_ingestion_service.model.CaseType;
+import com.poc.case_ingestion_service.model.CodedEnum;
+import com.poc.case_ingestion_service.model.EvidenceType;
+import com.poc.case_ingestion_service.model.PersonRole;
+
+import java.io.IOException;
+import java.util.function.IntFunction;
+
+/**
+ * Jackson module of the ArangoDB serde only: case enums are stored as their {@link CodedEnum} code
+ * instead of their name, a single digit JSON number. The Kafka codec and the REST API keep using
+ * names. Reading also accepts the old names, so a document the startup migration has not reached yet
+ * still loads.
+ */
+public class CompactGraphModule extends SimpleModule {
+
+    public CompactGraphModule() {
+        super("CompactGraphModule");
+        addCoded(CaseType.class, CaseType::fromCode);
+        addCoded(CaseStatus.class, CaseStatus::fromCode);
+        addCoded(PersonRole.class, PersonRole::fromCode);
+        addCoded(EvidenceType.class, EvidenceType::fromCode);
+    }
+
+    private <E extends Enum<E> & CodedEnum> void addCoded(Class<E> type, IntFunction<E> fromCode) {
+        addSerializer(type, new CodeSerializer<>(type));
+        addDeserializer(type, new CodeDeserializer<>(type, fromCode));
+    }
+
+    private static final class CodeSerializer<E extends Enum<E> & CodedEnum> extends StdSerializer<E> {
+
+        CodeSerializer(Class<E> type) {
+            super(type);
+        }
+
+        @Override
+        public void serialize(E value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.code());
+        }
+    }
+
+    private static final class CodeDeserializer<E extends Enum<E> & CodedEnum> extends StdDeserializer<E> {
+
+        private final Class<E> type;
+        private final IntFunction<E> fromCode;
+
+        CodeDeserializer(Class<E> type, IntFunction<E> fromCode) {
+            super(type);
+            this.type = type;
+            this.fromCode = fromCode;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                return fromCode.apply(p.getIntValue());
+            }
+            if (p.hasToken(JsonToken.VALUE_STRING)) {
+                try {
+                    return Enum.valueOf(type, p.getText());
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+            return (E) ctxt.handleUnexpectedToken(type, p);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.poc.case_processing_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor for the per-case fan-out of graph writes. With {@code spring.threads.virtual.enabled}
+ * (Java 21+) each write gets its own virtual thread; otherwise a bounded platform pool is used.
+ * Either way at most {@code graph.write.fan-out.max-concurrency} writes run at once, and 1 runs them
+ * on the calling thread. A full executor blocks the caller: the virtual-thread executor waits for a
+ * running write to finish and the platform pool runs the write on the submitting thread. Tasks must
+ * therefore only be submitted from outside the executor.
+ */
+@Slf4j
+@Configuration
+public class GraphWriteExecutorConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${graph.write.fan-out.max-concurrency:64}")
+    private int maxConcurrency;
+
+    @Bean
+    public TaskExecutor graphWriteExecutor() {
+        if (maxConcurrency <= 1) {
+            log.info("Graph writes run one after another on the calling thread");
+            return new SyncTaskExecutor();
+        }
+        if (virtualThreads) {
+            log.info("Graph writes fan out on virtual threads (max {} concurrent)", maxConcurrency);
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("graph-write-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxConcurrency);
+            return executor;
+        }
+
+        log.info("Graph writes fan out on a platform thread pool of {}", maxConcurrency);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("graph-write-");
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(maxConcurrency * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,22 @@
+package com.poc.case_processing_service.controller;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_processing_service.service.CaseReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cases")
+@RequiredArgsConstructor
+public class CaseController {
+
+    private final CaseReadService caseReadService;
+
+    @GetMapping("/{caseId}")
+    public ResponseEntity<CaseReport> getCase(@PathVariable String caseId) {
+        return caseReadService.getCase(caseId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
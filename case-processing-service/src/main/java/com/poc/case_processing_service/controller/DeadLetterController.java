@@ -0,0 +1,23 @@
+package com.poc.case_processing_service.controller;
+
+import com.poc.case_processing_service.model.DeadLetterReplayResult;
+import com.poc.case_processing_service.service.DeadLetterReplayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/dlq")
+@RequiredArgsConstructor
+public class DeadLetterController {
+
+    private final DeadLetterReplayService deadLetterReplayService;
+
+    @PostMapping("/replay")
+    public ResponseEntity<DeadLetterReplayResult> replay(@RequestParam(defaultValue = "500") int max) {
+        if (max <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(deadLetterReplayService.replay(max));
+    }
+}
@@ -0,0 +1,30 @@
+package com.poc.case_processing_service.controller;
+
+import com.poc.case_processing_service.model.DistrictHotspot;
+import com.poc.case_processing_service.pattern.HotspotTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/hotspots")
+@RequiredArgsConstructor
+public class HotspotController {
+
+    private final HotspotTracker hotspotTracker;
+
+    @GetMapping
+    public ResponseEntity<List<DistrictHotspot>> topDistricts(@RequestParam(defaultValue = "10") int limit) {
+        if (limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(hotspotTracker.topDistricts(limit));
+    }
+
+    @GetMapping("/{district}")
+    public ResponseEntity<DistrictHotspot> district(@PathVariable String district) {
+        return ResponseEntity.ok(new DistrictHotspot(district, hotspotTracker.getCount(district)));
+    }
+}
@@ -0,0 +1,15 @@
+package com.poc.case_processing_service.event;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Published by GraphDatabaseService once case_person edges have been written.
+ */
+@Data
+public class CasePersonEdgesCreatedEvent {
+
+    private final String caseKey;
+    private final List<String> personKeys;
+}
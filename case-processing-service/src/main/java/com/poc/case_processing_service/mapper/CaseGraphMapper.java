@@ -0,0 +1,210 @@
+package com.poc.case_processing_service.mapper;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.Evidence;
+import com.poc.case_ingestion_service.model.Location;
+import com.poc.case_ingestion_service.model.Person;
+import com.poc.case_ingestion_service.model.PersonRole;
+import com.poc.case_processing_service.model.CaseGraphDocument;
+import com.poc.case_processing_service.model.CaseVertex;
+import com.poc.case_processing_service.model.EvidenceVertex;
+import com.poc.case_processing_service.model.LocationVertex;
+import com.poc.case_processing_service.model.PersonVertex;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Maps the ingestion {@link CaseReport} model onto the graph vertices stored in ArangoDB and back.
+ * Timestamps are stored as epoch milliseconds so time filters compare numbers on the index.
+ */
+@Component
+public class CaseGraphMapper {
+
+    private static final Pattern PUNCTUATION = Pattern.compile("[.,#'|]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public CaseVertex createCaseVertex(CaseReport caseReport) {
+        CaseVertex caseVertex = new CaseVertex();
+        caseVertex.setKey(caseKey(caseReport.getCaseId()));
+        caseVertex.setCaseId(caseReport.getCaseId());
+        caseVertex.setCaseType(caseReport.getCaseType());
+        caseVertex.setStatus(caseReport.getStatus());
+        caseVertex.setReportedAt(epochMillis(caseReport.getReportedAt()));
+        caseVertex.setReportedAtSeconds(caseVertex.getReportedAt() != null ? caseVertex.getReportedAt() / 1000 : null);
+        caseVertex.setDescription(caseReport.getDescription());
+        caseVertex.setReportingOfficer(caseReport.getReportingOfficer());
+        return caseVertex;
+    }
+
+    public EvidenceVertex createEvidenceVertex(Evidence evidenceReport) {
+        EvidenceVertex evidenceVertex = new EvidenceVertex();
+        evidenceVertex.setEvidenceId(evidenceReport.getEvidenceId());
+        evidenceVertex.setDescription(evidenceReport.getDescription());
+        evidenceVertex.setType(evidenceReport.getType());
+        evidenceVertex.setCollectedAt(epochMillis(evidenceReport.getCollectedAt()));
+        evidenceVertex.setCollectedBy(evidenceReport.getCollectedBy());
+        return evidenceVertex;
+    }
+
+    public PersonVertex createPersonVertex(Person person) {
+        PersonVertex personVertex = new PersonVertex();
+        personVertex.setPersonId(person.getPersonId());
+        personVertex.setFirstName(person.getFirstName());
+        personVertex.setLastName(person.getLastName());
+        personVertex.setContactNumber(person.getContactNumber());
+        personVertex.setAddress(person.getAddress());
+        return personVertex;
+    }
+
+    public LocationVertex createLocationVertex(Location location) {
+        LocationVertex locationVertex = new LocationVertex();
+        locationVertex.setAddress(location.getAddress());
+        locationVertex.setCity(location.getCity());
+        locationVertex.setState(location.getState());
+        locationVertex.setCountry(location.getCountry());
+        locationVertex.setPostalCode(location.getPostalCode());
+        locationVertex.setDistrict(location.getDistrict());
+        locationVertex.setLocationKey(normalizedLocationKey(location));
+        return locationVertex;
+    }
+
+    /**
+     * Reassemble a CaseReport from a stored case and its linked vertices
+     */
+    public CaseReport toCaseReport(CaseGraphDocument document) {
+        CaseVertex caseVertex = document.getCaseVertex();
+        CaseReport caseReport = new CaseReport();
+        caseReport.setCaseId(caseVertex.getCaseId());
+        caseReport.setCaseType(caseVertex.getCaseType());
+        caseReport.setStatus(caseVertex.getStatus());
+        caseReport.setReportedAt(localDateTime(caseVertex.getReportedAt()));
+        caseReport.setDescription(caseVertex.getDescription());
+        caseReport.setReportingOfficer(caseVertex.getReportingOfficer());
+
+        List<Person> persons = new ArrayList<>(document.getPersons().size());
+        for (CaseGraphDocument.PersonLink link : document.getPersons()) {
+            PersonVertex personVertex = link.getPerson();
+            if (personVertex == null) {
+                continue;
+            }
+            Person person = new Person();
+            person.setPersonId(personVertex.getPersonId());
+            person.setFirstName(personVertex.getFirstName());
+            person.setLastName(personVertex.getLastName());
+            person.setRole(link.getRole());
+            person.setContactNumber(personVertex.getContactNumber());
+            person.setAddress(personVertex.getAddress());
+            persons.add(person);
+        }
+        caseReport.setInvolvedPersons(persons);
+
+        LocationVertex locationVertex = document.getLocation();
+        if (locationVertex != null) {
+            Location location = new Location();
+            location.setAddress(locationVertex.getAddress());
+            location.setPostalCode(locationVertex.getPostalCode());
+            location.setCity(locationVertex.getCity());
+            location.setState(locationVertex.getState());
+            location.setCountry(locationVertex.getCountry());
+            location.setDistrict(locationVertex.getDistrict());
+            caseReport.setLocation(location);
+        }
+
+        List<Evidence> evidenceList = new ArrayList<>(document.getEvidence().size());
+        for (EvidenceVertex evidenceVertex : document.getEvidence()) {
+            if (evidenceVertex == null) {
+                continue;
+            }
+            Evidence evidence = new Evidence();
+            evidence.setEvidenceId(evidenceVertex.getEvidenceId());
+            evidence.setType(evidenceVertex.getType());
+            evidence.setDescription(evidenceVertex.getDescription());
+            evidence.setCollectedBy(evidenceVertex.getCollectedBy());
+            evidence.setCollectedAt(localDateTime(evidenceVertex.getCollectedAt()));
+            evidenceList.add(evidence);
+        }
+        caseReport.setEvidence(evidenceList);
+
+        return caseReport;
+    }
+
+    /**
+     * Stored form of a report timestamp. Reports carry local times without a zone; they are read in
+     * the service's zone, as the latency and hotspot code does.
+     */
+    public static Long epochMillis(LocalDateTime value) {
+        return value != null ? value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : null;
+    }
+
+    public static LocalDateTime localDateTime(Long epochMillis) {
+        return epochMillis != null ? LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()) : null;
+    }
+
+    /**
+     * Stored form of a person's role on the case_person edge, which is written from untyped bind variables
+     */
+    public static Integer roleCode(PersonRole role) {
+        return role != null ? role.code() : null;
+    }
+
+    /**
+     * Document key of a case, derived from its caseId so every delivery of the same case writes the
+     * same document. Null when the case has no caseId (the server then generates one).
+     */
+    public static String caseKey(String caseId) {
+        return caseId != null ? derivedKey("case", caseId) : null;
+    }
+
+    /**
+     * Key of a document that belongs to exactly one case: its evidence, and persons or locations
+     * that have no business identity of their own. {@code part} tells them apart within the case,
+     * e.g. the evidenceId or the position in the report.
+     */
+    public static String ownedKey(String caseKey, String collection, String part) {
+        return caseKey != null ? derivedKey(caseKey, collection, part) : null;
+    }
+
+    /**
+     * Key of the edge between two documents. Equals {@code MD5(CONCAT(fromKey, '>', toKey))} in AQL,
+     * which the edge queries use, so every write path produces the same edge key.
+     */
+    public static String edgeKey(String fromKey, String toKey) {
+        return derivedKey(fromKey, toKey);
+    }
+
+    private static String derivedKey(String... parts) {
+        return DigestUtils.md5DigestAsHex(String.join(">", parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Case- and whitespace-insensitive identity of an address, or null when the location has no
+     * address fields at all.
+     */
+    public static String normalizedLocationKey(Location location) {
+        String key = String.join("|",
+                normalize(location.getAddress()),
+                normalize(location.getPostalCode()),
+                normalize(location.getCity()),
+                normalize(location.getState()),
+                normalize(location.getCountry()));
+        return key.replace("|", "").isEmpty() ? null : key;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(PUNCTUATION.matcher(value.toLowerCase(Locale.ROOT)).replaceAll(" "))
+                .replaceAll(" ")
+                .trim();
+    }
+}
@@ -0,0 +1,59 @@
+package com.poc.case_processing_service.metrics;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end latency of a case, recorded when it is committed to the graph:
+ * {@code case.end_to_end.latency} from the {@code caseIngestedAt} header ingestion puts on the record,
+ * and {@code case.report_to_commit.latency} from the case's {@code reportedAt}. Both clocks are wall
+ * clocks on other hosts, so skew shows up in the numbers; negative spans are dropped.
+ */
+@Component
+public class CaseLatencyMetrics {
+
+    private final Timer endToEnd;
+    private final Timer reportToCommit;
+
+    public CaseLatencyMetrics(MeterRegistry meterRegistry) {
+        this.endToEnd = Timer.builder("case.end_to_end.latency")
+                .description("Time from ingestion publishing a case to its graph commit")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(meterRegistry);
+        this.reportToCommit = Timer.builder("case.report_to_commit.latency")
+                .description("Time from a case's reportedAt to its graph commit")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofDays(1))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a case that is now durable in the graph; {@code ingestedAt} is the raw header value or null
+     */
+    public void committed(CaseReport caseReport, String ingestedAt) {
+        long now = System.currentTimeMillis();
+        if (ingestedAt != null) {
+            try {
+                record(endToEnd, now - Long.parseLong(ingestedAt.trim()));
+            } catch (NumberFormatException e) {
+                // not from this ingestion service; nothing to measure
+            }
+        }
+        if (caseReport.getReportedAt() != null) {
+            record(reportToCommit, now - caseReport.getReportedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    private static void record(Timer timer, long millis) {
+        if (millis >= 0) {
+            timer.record(millis, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.poc.case_processing_service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Meters for graph writes and lookups that are not a single registered query (those are timed per
+ * query as {@code graph.query}):
+ * <ul>
+ *     <li>{@code graph.operation} timer with percentile histogram, tagged {@code operation} and {@code collection}</li>
+ *     <li>{@code graph.operation.errors} counter, additionally tagged with the exception class</li>
+ *     <li>{@code graph.bulk.documents} documents per bulk insert, tagged {@code collection}</li>
+ *     <li>{@code graph.write.fallbacks} cases written again on a slower path, tagged {@code from} and {@code to}</li>
+ * </ul>
+ * Meters are created on first use and cached, so recording does not go through the registry lookup.
+ */
+@Component
+public class GraphMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> errors = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> bulkSizes = new ConcurrentHashMap<>();
+    private final Map<String, Counter> fallbacks = new ConcurrentHashMap<>();
+
+    public GraphMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Time {@code action}; a thrown exception is counted as an error and rethrown
+     */
+    public <T> T record(String operation, String collection, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            error(operation, collection, e);
+            throw e;
+        } finally {
+            sample.stop(timer(operation, collection));
+        }
+    }
+
+    public void record(String operation, String collection, Runnable action) {
+        record(operation, collection, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Time the future returned by {@code action} until it completes. A failure, thrown or completed
+     * exceptionally, is counted as an error; the timer stops on the thread completing the future.
+     */
+    public <T> CompletableFuture<T> recordAsync(String operation, String collection, Supplier<CompletableFuture<T>> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<T> future;
+        try {
+            future = action.get();
+        } catch (RuntimeException e) {
+            sample.stop(timer(operation, collection));
+            error(operation, collection, e);
+            throw e;
+        }
+        return future.whenComplete((result, failure) -> {
+            sample.stop(timer(operation, collection));
+            if (failure != null) {
+                error(operation, collection, failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure);
+            }
+        });
+    }
+
+    public void error(String operation, String collection, Throwable error) {
+        String exception = error.getClass().getSimpleName();
+        errors.computeIfAbsent(operation + '|' + collection + '|' + exception, key -> Counter.builder("graph.operation.errors")
+                .description("Graph operations that failed")
+                .tag("operation", operation)
+                .tag("collection", collection)
+                .tag("exception", exception)
+                .register(meterRegistry)).increment();
+    }
+
+    public void bulkSize(String collection, int documents) {
+        bulkSizes.computeIfAbsent(collection, key -> DistributionSummary.builder("graph.bulk.documents")
+                .description("Documents written per bulk insert")
+                .baseUnit("documents")
+                .tag("collection", collection)
+                .register(meterRegistry)).record(documents);
+    }
+
+    public void fallback(String from, String to) {
+        fallbacks.computeIfAbsent(from + '|' + to, key -> Counter.builder("graph.write.fallbacks")
+                .description("Case writes retried on a slower path after the faster one failed")
+                .tag("from", from)
+                .tag("to", to)
+                .register(meterRegistry)).increment();
+    }
+
+    private Timer timer(String operation, String collection) {
+        return timers.computeIfAbsent(operation + '|' + collection, key -> Timer.builder("graph.operation")
+                .description("Graph operation latency by operation and collection")
+                .tag("operation", operation)
+                .tag("collection", collection)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
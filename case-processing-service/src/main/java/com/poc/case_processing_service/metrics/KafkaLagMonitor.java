@@ -0,0 +1,134 @@
+package com.poc.case_processing_service.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the case-events lag of the consumer group as gauges: {@code kafka.consumer.lag} per
+ * partition and {@code kafka.consumer.lag.total}. Lag is end offset minus committed offset, polled
+ * through the admin client every {@code case-processing.metrics.lag.interval-seconds}, so it covers
+ * every instance of the group, not just this one. Offsets are committed once a case is stored, so
+ * the lag counts records not yet durable in the graph.
+ */
+@Slf4j
+@Component
+public class KafkaLagMonitor {
+
+    private static final String TOPIC = "case-events";
+    private static final String GROUP_ID = "case-processing-group";
+
+    private final MeterRegistry meterRegistry;
+    private final String brokers;
+    private final long intervalSeconds;
+    private final boolean enabled;
+
+    private final Map<TopicPartition, AtomicLong> partitionLag = new ConcurrentHashMap<>();
+    private final AtomicLong totalLag = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+    private Admin admin;
+
+    public KafkaLagMonitor(MeterRegistry meterRegistry,
+                           @Value("${case-processing.kafka.brokers:pkc-l7pr2.ap-south-1.aws.confluent.cloud:9092}") String brokers,
+                           @Value("${case-processing.metrics.lag.interval-seconds:15}") long intervalSeconds,
+                           @Value("${case-processing.metrics.lag.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.brokers = brokers;
+        this.intervalSeconds = intervalSeconds;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("kafka.consumer.lag.total", totalLag, AtomicLong::get)
+                .description("Records on case-events not yet committed by the consumer group")
+                .tag("topic", TOPIC)
+                .tag("group", GROUP_ID)
+                .register(meterRegistry);
+
+        Properties props = new Properties();
+        props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, brokers);
+        admin = Admin.create(props);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (admin != null) {
+            admin.close();
+        }
+    }
+
+    private void refresh() {
+        try {
+            Map<TopicPartition, OffsetAndMetadata> committed =
+                    admin.listConsumerGroupOffsets(GROUP_ID).partitionsToOffsetAndMetadata().get(intervalSeconds, TimeUnit.SECONDS);
+            int partitions = admin.describeTopics(List.of(TOPIC)).allTopicNames()
+                    .get(intervalSeconds, TimeUnit.SECONDS).get(TOPIC).partitions().size();
+
+            Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+            for (int p = 0; p < partitions; p++) {
+                request.put(new TopicPartition(TOPIC, p), OffsetSpec.latest());
+            }
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets =
+                    admin.listOffsets(request).all().get(intervalSeconds, TimeUnit.SECONDS);
+
+            long total = 0;
+            for (Map.Entry<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> end : endOffsets.entrySet()) {
+                OffsetAndMetadata offset = committed.get(end.getKey());
+                long lag = Math.max(0, end.getValue().offset() - (offset != null ? offset.offset() : 0L));
+                gauge(end.getKey()).set(lag);
+                total += lag;
+            }
+            totalLag.set(total);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Could not read consumer lag of {} on {}: {}", GROUP_ID, TOPIC, e.getMessage());
+        }
+    }
+
+    private AtomicLong gauge(TopicPartition partition) {
+        return partitionLag.computeIfAbsent(partition, key -> {
+            AtomicLong lag = new AtomicLong();
+            Gauge.builder("kafka.consumer.lag", lag, AtomicLong::get)
+                    .description("Records on a case-events partition not yet committed by the consumer group")
+                    .tag("topic", TOPIC)
+                    .tag("group", GROUP_ID)
+                    .tag("partition", String.valueOf(key.partition()))
+                    .register(meterRegistry);
+            return lag;
+        });
+    }
+}
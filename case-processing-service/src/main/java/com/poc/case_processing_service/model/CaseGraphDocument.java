@@ -0,0 +1,28 @@
+package com.poc.case_processing_service.model;
+
+import com.poc.case_ingestion_service.model.PersonRole;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A case vertex with everything linked to it, as returned by {@code CASE_BY_ID}
+ */
+@Data
+public class CaseGraphDocument {
+    private CaseVertex caseVertex;
+    private List<PersonLink> persons = new ArrayList<>();
+    private LocationVertex location;
+    private List<EvidenceVertex> evidence = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PersonLink {
+        private PersonVertex person;
+        private PersonRole role; // from the case_person edge
+    }
+}
@@ -0,0 +1,23 @@
+package com.poc.case_processing_service.model;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keys of every vertex written for a single case report.
+ */
+@Data
+public class CaseGraphResult {
+
+    private String caseKey;
+    private List<String> personKeys = new ArrayList<>();
+    private String locationKey;
+    private List<String> evidenceKeys = new ArrayList<>();
+    private int edgeCount;
+
+    private CaseVertex caseVertex;
+    private CaseReport caseReport;
+}
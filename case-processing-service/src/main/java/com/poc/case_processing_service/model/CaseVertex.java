@@ -1,17 +1,24 @@
 package com.poc.case_processing_service.model;
 
 import com.arangodb.serde.jackson.Key;
+import com.poc.case_ingestion_service.model.CaseStatus;
+import com.poc.case_ingestion_service.model.CaseType;
 import lombok.Data;
 
+/**
+ * Stored case. Enums are written as their numeric codes and times as epoch milliseconds,
+ * see {@link com.poc.case_processing_service.config.CompactGraphModule}.
+ */
 @Data
 public class CaseVertex {
 
     @Key
     private String key;
     private String caseId;
-    private String caseType;
-    private String status;
-    private String reportedAt;
+    private CaseType caseType;
+    private CaseStatus status;
+    private Long reportedAt;
+    private Long reportedAtSeconds; // reportedAt in epoch seconds, the unit the TTL index reads
     private String description;
     private String reportingOfficer;
 }
@@ -0,0 +1,17 @@
+package com.poc.case_processing_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterReplayResult {
+
+    private int replayed;
+    /**
+     * True when the batch limit was reached; call again to replay the rest
+     */
+    private boolean more;
+}
@@ -2,6 +2,7 @@ package com.poc.case_processing_service.model;
 
 import com.arangodb.serde.jackson.Key;
 import com.arangodb.springframework.annotation.Document;
+import com.poc.case_ingestion_service.model.EvidenceType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,8 +18,8 @@ public class EvidenceVertex {
     private String key;
 
     private String evidenceId;
-    private String type; // PHYSICAL, DIGITAL, TESTIMONIAL
+    private EvidenceType type;
     private String description;
     private String collectedBy;
-    private String collectedAt;
+    private Long collectedAt; // epoch millis
 }
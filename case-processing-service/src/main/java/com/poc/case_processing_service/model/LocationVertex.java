@@ -16,4 +16,7 @@ public class LocationVertex {
     private String country;
     private String address;
     private String district;
+
+    // Normalized address used to deduplicate locations across cases
+    private String locationKey;
 }
@@ -0,0 +1,16 @@
+package com.poc.case_processing_service.model;
+
+import com.poc.case_ingestion_service.model.PersonRole;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringPerson {
+
+    private String personKey;
+    private PersonRole role;
+    private int caseCount;
+}
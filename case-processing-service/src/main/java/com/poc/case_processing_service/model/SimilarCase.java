@@ -0,0 +1,14 @@
+package com.poc.case_processing_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarCase {
+
+    private String caseId;
+    private double score;
+}
@@ -0,0 +1,203 @@
+package com.poc.case_processing_service.pattern;
+
+import com.poc.case_processing_service.mapper.CaseGraphMapper;
+import com.poc.case_processing_service.model.DistrictHotspot;
+import com.poc.case_processing_service.query.GraphQuery;
+import com.poc.case_processing_service.service.GraphDatabaseService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Keeps per-district case counts in memory so hotspot detection costs O(1) per case instead of
+ * a full scan of the cases collection. Counts are rebuilt from ArangoDB once at startup and then
+ * updated once for every newly stored case id, not for updates or replays of a case.
+ *
+ * <p>With {@code hotspot.window-minutes} set, counts only cover that sliding window. The window is
+ * split into {@code hotspot.slices} slices and the oldest slice is subtracted as time moves on.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotspotTracker {
+
+    private final GraphDatabaseService graphDatabaseService;
+
+    @Value("${hotspot.threshold:5}")
+    private int threshold;
+
+    @Value("${hotspot.window-minutes:0}")
+    private long windowMinutes;
+
+    @Value("${hotspot.slices:12}")
+    private int sliceCount;
+
+    @Value("${hotspot.max-districts:4096}")
+    private int maxDistricts;
+
+    private StringIdDictionary districts;
+    private AtomicIntegerArray totals;
+    private AtomicIntegerArray[] slices;
+    private long sliceMillis;
+    private volatile long currentSlice;
+    private volatile boolean rebuilding;
+
+    @PostConstruct
+    void init() {
+        districts = new StringIdDictionary(maxDistricts);
+        totals = new AtomicIntegerArray(maxDistricts);
+
+        if (isWindowed()) {
+            sliceMillis = Math.max(1L, windowMinutes * 60_000L / sliceCount);
+            slices = new AtomicIntegerArray[sliceCount];
+            for (int i = 0; i < sliceCount; i++) {
+                slices[i] = new AtomicIntegerArray(maxDistricts);
+            }
+            currentSlice = System.currentTimeMillis() / sliceMillis;
+        }
+
+        rebuild();
+    }
+
+    /**
+     * Counts a case for its district and raises an alert when the district reaches the threshold.
+     */
+    public void record(String district, LocalDateTime reportedAt) {
+        Long reportedAtMillis = CaseGraphMapper.epochMillis(reportedAt);
+        record(district, reportedAtMillis != null ? reportedAtMillis : System.currentTimeMillis());
+    }
+
+    /**
+     * Same as {@link #record(String, LocalDateTime)} for a time already in stored form, epoch millis
+     */
+    public void record(String district, long reportedAtMillis) {
+        if (!StringUtils.hasText(district)) {
+            return;
+        }
+
+        int id = districts.idOf(district);
+        if (id == StringIdDictionary.NOT_FOUND) {
+            log.warn("Hotspot tracker is full ({} districts), ignoring district {}", maxDistricts, district);
+            return;
+        }
+
+        if (isWindowed()) {
+            long now = System.currentTimeMillis();
+            advance(now / sliceMillis);
+
+            long eventSlice = Math.min(reportedAtMillis / sliceMillis, currentSlice);
+            if (eventSlice <= currentSlice - sliceCount) {
+                return;
+            }
+            slices[(int) (eventSlice % sliceCount)].incrementAndGet(id);
+        }
+        int count = totals.incrementAndGet(id);
+
+        if (count == threshold && !rebuilding) {
+            log.warn("HOTSPOT ALERT: district {} reached {} cases", district, count);
+        }
+    }
+
+    public long getCount(String district) {
+        int id = districts.lookup(district);
+        return id == StringIdDictionary.NOT_FOUND ? 0 : totals.get(id);
+    }
+
+    /**
+     * Returns the {@code limit} districts with the most cases, highest first.
+     */
+    public List<DistrictHotspot> topDistricts(int limit) {
+        if (isWindowed()) {
+            advance(System.currentTimeMillis() / sliceMillis);
+        }
+
+        PriorityQueue<DistrictHotspot> top = new PriorityQueue<>(limit + 1,
+                Comparator.comparingLong(DistrictHotspot::getCrimeCount));
+        int size = districts.size();
+        for (int id = 0; id < size; id++) {
+            int count = totals.get(id);
+            if (count == 0) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.add(new DistrictHotspot(districts.valueOf(id), count));
+            } else if (count > top.peek().getCrimeCount()) {
+                top.poll();
+                top.add(new DistrictHotspot(districts.valueOf(id), count));
+            }
+        }
+
+        List<DistrictHotspot> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingLong(DistrictHotspot::getCrimeCount).reversed());
+        return result;
+    }
+
+    private void rebuild() {
+        rebuilding = true;
+        try {
+            long rows;
+            if (isWindowed()) {
+                Map<String, Object> bindVars = new HashMap<>();
+                bindVars.put("since", System.currentTimeMillis() - windowMinutes * 60_000L);
+                rows = graphDatabaseService.forEachResult(GraphQuery.DISTRICT_CASES_SINCE, bindVars, Map.class,
+                        row -> record((String) row.get("district"), ((Number) row.get("reportedAt")).longValue()));
+            } else {
+                rows = graphDatabaseService.forEachResult(GraphQuery.DISTRICT_CASE_COUNTS, new HashMap<>(), Map.class,
+                        row -> {
+                            int id = districts.idOf((String) row.get("district"));
+                            if (id != StringIdDictionary.NOT_FOUND) {
+                                totals.addAndGet(id, ((Number) row.get("crimeCount")).intValue());
+                            }
+                        });
+            }
+            log.info("Hotspot counters rebuilt from {} rows, {} districts", rows, districts.size());
+        } catch (Exception e) {
+            log.warn("Could not rebuild hotspot counters, starting empty: {}", e.getMessage());
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    /**
+     * Moves the window forward, subtracting every slice that fell out of it.
+     */
+    private void advance(long nowSlice) {
+        if (nowSlice <= currentSlice) {
+            return;
+        }
+        synchronized (this) {
+            long from = currentSlice;
+            if (nowSlice <= from) {
+                return;
+            }
+            long expired = Math.min(nowSlice - from, sliceCount);
+            for (long s = 1; s <= expired; s++) {
+                AtomicIntegerArray slice = slices[(int) ((from + s) % sliceCount)];
+                int size = districts.size();
+                for (int id = 0; id < size; id++) {
+                    int count = slice.getAndSet(id, 0);
+                    if (count != 0) {
+                        totals.addAndGet(id, -count);
+                    }
+                }
+            }
+            currentSlice = nowSlice;
+        }
+    }
+
+    private boolean isWindowed() {
+        return windowMinutes > 0;
+    }
+}
@@ -0,0 +1,125 @@
+package com.poc.case_processing_service.pattern;
+
+import com.poc.case_processing_service.event.CasePersonEdgesCreatedEvent;
+import com.poc.case_processing_service.query.GraphQuery;
+import com.poc.case_processing_service.service.GraphDatabaseService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory person to case adjacency mirroring the case_person edges, so "has this person been
+ * involved in other cases?" is a hash lookup plus an array length instead of a graph traversal.
+ * Rebuilt from ArangoDB at startup and updated whenever GraphDatabaseService writes case_person
+ * edges.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PersonCaseIndex {
+
+    private final GraphDatabaseService graphDatabaseService;
+
+    @Value("${recurring.max-persons:2000000}")
+    private int maxPersons;
+
+    @Value("${recurring.max-cases:1000000}")
+    private int maxCases;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<IntArrayList> casesByPerson = new ArrayList<>();
+    private StringIdDictionary personKeys;
+    private StringIdDictionary caseKeys;
+
+    @PostConstruct
+    void init() {
+        personKeys = new StringIdDictionary(maxPersons);
+        caseKeys = new StringIdDictionary(maxCases);
+        rebuild();
+    }
+
+    @EventListener
+    public void onCasePersonEdgesCreated(CasePersonEdgesCreatedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (String personKey : event.getPersonKeys()) {
+                link(event.getCaseKey(), personKey);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of distinct cases the person is linked to.
+     */
+    public int caseCount(String personKey) {
+        lock.readLock().lock();
+        try {
+            int personId = personKeys.lookup(personKey);
+            return personId == StringIdDictionary.NOT_FOUND ? 0 : casesByPerson.get(personId).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Keys of every case the person is linked to.
+     */
+    public List<String> casesOf(String personKey) {
+        lock.readLock().lock();
+        try {
+            int personId = personKeys.lookup(personKey);
+            if (personId == StringIdDictionary.NOT_FOUND) {
+                return List.of();
+            }
+            IntArrayList cases = casesByPerson.get(personId);
+            List<String> result = new ArrayList<>(cases.size());
+            for (int i = 0; i < cases.size(); i++) {
+                result.add(caseKeys.valueOf(cases.get(i)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuild() {
+        lock.writeLock().lock();
+        try {
+            long edges = graphDatabaseService.forEachResult(GraphQuery.CASE_PERSON_EDGES, new HashMap<>(), Map.class,
+                    row -> link((String) row.get("caseKey"), (String) row.get("personKey")));
+            log.info("Person-case index rebuilt from {} edges, {} persons", edges, personKeys.size());
+        } catch (Exception e) {
+            log.warn("Could not rebuild person-case index, starting empty: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void link(String caseKey, String personKey) {
+        int caseId = caseKeys.idOf(caseKey);
+        int personId = personKeys.idOf(personKey);
+        if (caseId == StringIdDictionary.NOT_FOUND || personId == StringIdDictionary.NOT_FOUND) {
+            log.warn("Person-case index is full, ignoring edge {} -> {}", caseKey, personKey);
+            return;
+        }
+
+        while (casesByPerson.size() <= personId) {
+            casesByPerson.add(new IntArrayList(2));
+        }
+        IntArrayList cases = casesByPerson.get(personId);
+        if (!cases.contains(caseId)) {
+            cases.add(caseId);
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.poc.case_processing_service.pattern;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.CaseType;
+import com.poc.case_ingestion_service.model.Person;
+import com.poc.case_processing_service.model.SimilarCase;
+import com.poc.case_processing_service.query.GraphQuery;
+import com.poc.case_processing_service.service.GraphDatabaseService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over case type, district, involved person ids and description
+ * tokens. Similar cases are scored by summing field weight x IDF of the terms they share with
+ * the query case; only the top K are returned.
+ *
+ * <p>Very common terms (e.g. a case type with tens of thousands of cases) would dominate the
+ * cost, so rare terms are scanned first, each posting list is scanned newest first and capped at
+ * {@code similarity.max-postings-per-term}, and scoring stops once {@code similarity.budget-micros}
+ * is spent.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SimilarCaseIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^a-z0-9]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "was", "were", "for", "with", "from", "that", "this", "near", "into", "has", "had");
+
+    private static final String CASE_TYPE = "t:";
+    private static final String DISTRICT = "d:";
+    private static final String PERSON = "p:";
+    private static final String WORD = "w:";
+
+    private final GraphDatabaseService graphDatabaseService;
+
+    @Value("${similarity.max-cases:1000000}")
+    private int maxCases;
+
+    @Value("${similarity.max-terms:1000000}")
+    private int maxTerms;
+
+    @Value("${similarity.max-postings-per-term:5000}")
+    private int maxPostingsPerTerm;
+
+    @Value("${similarity.max-candidates:10000}")
+    private int maxCandidates;
+
+    @Value("${similarity.budget-micros:2000}")
+    private long budgetMicros;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<IntArrayList> postings = new ArrayList<>();
+    private final List<IntArrayList> docTerms = new ArrayList<>(); // term ids per doc id, to replace them on re-add
+    private final BitSet indexed = new BitSet();
+    private StringIdDictionary caseIds;
+    private StringIdDictionary terms;
+
+    @PostConstruct
+    void init() {
+        caseIds = new StringIdDictionary(maxCases);
+        terms = new StringIdDictionary(maxTerms);
+        rebuild();
+    }
+
+    /**
+     * Adds a stored case to the index. A case id that is already indexed has its terms replaced by
+     * those of the new version, keeping its doc id and so its place in the newest-first scan.
+     *
+     * @return false if the case id was already indexed (a replay or an update of the case), true otherwise,
+     * including when the index is full and the case could not be added
+     */
+    public boolean add(CaseReport caseReport) {
+        if (caseReport == null || !StringUtils.hasText(caseReport.getCaseId())) {
+            return true;
+        }
+
+        List<String> caseTerms = termsOf(caseReport);
+        lock.writeLock().lock();
+        try {
+            int docId = caseIds.idOf(caseReport.getCaseId());
+            if (docId == StringIdDictionary.NOT_FOUND) {
+                return true;
+            }
+            if (indexed.get(docId)) {
+                replacePostings(docId, caseTerms);
+                return false;
+            }
+            indexed.set(docId);
+            for (String term : caseTerms) {
+                addPosting(docId, term);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} indexed cases most similar to {@code caseReport}, best first.
+     * The case itself is never part of the result; a case without an id is compared to every indexed case.
+     */
+    public List<SimilarCase> findSimilar(CaseReport caseReport, int limit) {
+        List<String> queryTerms = termsOf(caseReport);
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(budgetMicros);
+
+        lock.readLock().lock();
+        try {
+            int self = caseReport.getCaseId() != null ? caseIds.lookup(caseReport.getCaseId()) : StringIdDictionary.NOT_FOUND;
+            int docCount = indexed.cardinality();
+
+            int[] termIds = queryTerms.stream()
+                    .mapToInt(terms::lookup)
+                    .filter(termId -> termId != StringIdDictionary.NOT_FOUND)
+                    .toArray();
+            Integer[] byDocFrequency = Arrays.stream(termIds).boxed()
+                    .sorted(Comparator.comparingInt(termId -> postings.get(termId).size()))
+                    .toArray(Integer[]::new);
+
+            ScoreAccumulator scores = new ScoreAccumulator(64);
+            long scanned = 0;
+            scan:
+            for (int termId : byDocFrequency) {
+                IntArrayList docs = postings.get(termId);
+                float weight = (float) (fieldWeight(terms.valueOf(termId)) * Math.log(1.0 + (double) docCount / docs.size()));
+                int oldest = Math.max(0, docs.size() - maxPostingsPerTerm);
+
+                for (int i = docs.size() - 1; i >= oldest; i--) {
+                    int docId = docs.get(i);
+                    if (docId != self && (scores.size() < maxCandidates || scores.contains(docId))) {
+                        scores.add(docId, weight);
+                    }
+                    if ((++scanned & 0xFF) == 0 && System.nanoTime() > deadline) {
+                        log.debug("Similarity budget exhausted for case {} after {} postings",
+                                caseReport.getCaseId(), scanned);
+                        break scan;
+                    }
+                }
+            }
+
+            return scores.top(limit, caseIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexed.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuild() {
+        lock.writeLock().lock();
+        try {
+            Map<String, Integer> docIdsByKey = new HashMap<>();
+
+            graphDatabaseService.forEachResult(GraphQuery.CASE_DOCUMENTS, new HashMap<>(), Map.class, row -> {
+                int docId = caseIds.idOf((String) row.get("caseId"));
+                if (docId == StringIdDictionary.NOT_FOUND || indexed.get(docId)) {
+                    return;
+                }
+                indexed.set(docId);
+                docIdsByKey.put((String) row.get("key"), docId);
+                CaseType caseType = row.get("caseType") instanceof Number code ? CaseType.fromCode(code.intValue()) : null;
+                if (caseType != null) {
+                    addPosting(docId, CASE_TYPE + caseType);
+                }
+                for (String token : tokenize((String) row.get("description"))) {
+                    addPosting(docId, WORD + token);
+                }
+            });
+            graphDatabaseService.forEachResult(GraphQuery.CASE_DISTRICTS, new HashMap<>(), Map.class, row -> {
+                Integer docId = docIdsByKey.get((String) row.get("caseKey"));
+                if (docId != null) {
+                    addPosting(docId, DISTRICT + row.get("district"));
+                }
+            });
+            graphDatabaseService.forEachResult(GraphQuery.CASE_PERSON_IDS, new HashMap<>(), Map.class, row -> {
+                Integer docId = docIdsByKey.get((String) row.get("caseKey"));
+                if (docId != null) {
+                    addPosting(docId, PERSON + row.get("personId"));
+                }
+            });
+
+            // Newest-first scanning relies on ascending doc ids within every posting list
+            postings.forEach(IntArrayList::sort);
+            log.info("Similar case index rebuilt with {} cases and {} terms", indexed.cardinality(), terms.size());
+        } catch (Exception e) {
+            log.warn("Could not rebuild similar case index, starting empty: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addPosting(int docId, String term) {
+        int termId = terms.idOf(term);
+        if (termId == StringIdDictionary.NOT_FOUND) {
+            return;
+        }
+        IntArrayList docs = postingsOf(termId);
+        if (docs.size() == 0 || docs.get(docs.size() - 1) != docId) {
+            docs.add(docId);
+        }
+        IntArrayList termIds = termsOfDoc(docId);
+        if (!termIds.contains(termId)) {
+            termIds.add(termId);
+        }
+    }
+
+    /**
+     * Moves a re-added case from the posting lists of the terms it lost to those of the terms it gained
+     */
+    private void replacePostings(int docId, List<String> caseTerms) {
+        IntArrayList previous = termsOfDoc(docId);
+        IntArrayList current = new IntArrayList(caseTerms.size());
+        for (String term : caseTerms) {
+            int termId = terms.idOf(term);
+            if (termId != StringIdDictionary.NOT_FOUND && !current.contains(termId)) {
+                current.add(termId);
+            }
+        }
+
+        for (int i = 0; i < previous.size(); i++) {
+            if (!current.contains(previous.get(i))) {
+                postings.get(previous.get(i)).removeValue(docId);
+            }
+        }
+        for (int i = 0; i < current.size(); i++) {
+            if (!previous.contains(current.get(i))) {
+                postingsOf(current.get(i)).insertSorted(docId);
+            }
+        }
+        docTerms.set(docId, current);
+    }
+
+    private IntArrayList postingsOf(int termId) {
+        while (postings.size() <= termId) {
+            postings.add(new IntArrayList());
+        }
+        return postings.get(termId);
+    }
+
+    private IntArrayList termsOfDoc(int docId) {
+        while (docTerms.size() <= docId) {
+            docTerms.add(new IntArrayList(0));
+        }
+        return docTerms.get(docId);
+    }
+
+    private static List<String> termsOf(CaseReport caseReport) {
+        Set<String> caseTerms = new LinkedHashSet<>();
+        if (caseReport.getCaseType() != null) {
+            caseTerms.add(CASE_TYPE + caseReport.getCaseType());
+        }
+        if (caseReport.getLocation() != null && StringUtils.hasText(caseReport.getLocation().getDistrict())) {
+            caseTerms.add(DISTRICT + caseReport.getLocation().getDistrict());
+        }
+        if (caseReport.getInvolvedPersons() != null) {
+            for (Person person : caseReport.getInvolvedPersons()) {
+                if (StringUtils.hasText(person.getPersonId())) {
+                    caseTerms.add(PERSON + person.getPersonId());
+                }
+            }
+        }
+        for (String token : tokenize(caseReport.getDescription())) {
+            caseTerms.add(WORD + token);
+        }
+        return new ArrayList<>(caseTerms);
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (!StringUtils.hasText(text)) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= 3 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static double fieldWeight(String term) {
+        if (term.startsWith(PERSON)) {
+            return 4.0;
+        }
+        if (term.startsWith(DISTRICT)) {
+            return 2.0;
+        }
+        return 1.0;
+    }
+
+    /**
+     * Open-addressing doc id to score map, so scoring does not box every candidate.
+     */
+    private static final class ScoreAccumulator {
+
+        private static final int EMPTY = -1;
+
+        private int[] keys;
+        private float[] values;
+        private int size;
+
+        ScoreAccumulator(int capacity) {
+            keys = new int[capacity];
+            values = new float[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        void add(int key, float delta) {
+            int slot = slot(keys, key);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                size++;
+                if (size * 2 > keys.length) {
+                    resize();
+                    slot = slot(keys, key);
+                }
+            }
+            values[slot] += delta;
+        }
+
+        boolean contains(int key) {
+            return keys[slot(keys, key)] != EMPTY;
+        }
+
+        int size() {
+            return size;
+        }
+
+        List<SimilarCase> top(int limit, StringIdDictionary caseIds) {
+            PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(slot -> values[slot]));
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] == EMPTY) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(slot);
+                } else if (values[slot] > values[best.peek()]) {
+                    best.poll();
+                    best.add(slot);
+                }
+            }
+
+            List<SimilarCase> result = new ArrayList<>(best.size());
+            for (int slot : best) {
+                result.add(new SimilarCase(caseIds.valueOf(keys[slot]), values[slot]));
+            }
+            result.sort(Comparator.comparingDouble(SimilarCase::getScore).reversed());
+            return result;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            float[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new float[oldKeys.length * 2];
+            Arrays.fill(keys, EMPTY);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slot(keys, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slot(int[] keys, int key) {
+            int mask = keys.length - 1;
+            int slot = (key * 0x9E3779B9) >>> 1 & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.poc.case_processing_service.pattern;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Assigns dense int ids to strings so the in-memory pattern indexes can use primitive arrays
+ * instead of string-keyed maps. Ids are never reused; the dictionary holds at most
+ * {@code capacity} distinct values.
+ */
+public class StringIdDictionary {
+
+    public static final int NOT_FOUND = -1;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> values;
+    private int size;
+
+    public StringIdDictionary(int capacity) {
+        this.values = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Returns the id of {@code value}, assigning the next free id on first use, or
+     * {@link #NOT_FOUND} once the dictionary is full.
+     */
+    public int idOf(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+            if (size == values.length()) {
+                return NOT_FOUND;
+            }
+            int newId = size++;
+            values.set(newId, value);
+            ids.put(value, newId);
+            return newId;
+        }
+    }
+
+    /**
+     * Returns the id of {@code value} without assigning one.
+     */
+    public int lookup(String value) {
+        Integer id = ids.get(value);
+        return id != null ? id : NOT_FOUND;
+    }
+
+    public String valueOf(int id) {
+        return values.get(id);
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    public int capacity() {
+        return values.length();
+    }
+}
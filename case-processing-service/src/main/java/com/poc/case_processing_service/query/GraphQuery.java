@@ -0,0 +1,174 @@
+package com.poc.case_processing_service.query;
+
+import java.util.Set;
+
+/**
+ * Registry of every AQL query the service runs. Values are only ever passed as bind variables,
+ * so each query string is constant and ArangoDB can reuse its parsed plan. Stored enum attributes
+ * (caseType, status, role, evidence type) hold {@code CodedEnum} codes and times hold epoch millis,
+ * so bind values and filters compare numbers.
+ */
+public enum GraphQuery {
+
+    /**
+     * Writes the case vertex, every person/location/evidence vertex and all case edges in one
+     * query. A single AQL query runs as one transaction, so a failure leaves nothing behind.
+     * Persons and locations whose key is already known ({@code @knownPersons}, {@code @knownLocations})
+     * are only linked; the others are upserted on personId / locationKey. The case, its evidence and
+     * its edges carry derived keys and overwrite their previous version, so replaying a case is a no-op.
+     */
+    SAVE_CASE_GRAPH(
+            "LET caseDoc = FIRST(INSERT @case INTO cases OPTIONS { overwriteMode: 'replace' } RETURN NEW) " +
+                    "LET upsertedPersons = (FOR p IN @newPersons " +
+                    "UPSERT { personId: p.matchId } INSERT p.vertex UPDATE {} IN persons " +
+                    "RETURN { index: p.index, key: NEW._key, role: p.role }) " +
+                    "LET personLinks = (FOR link IN APPEND(@knownPersons, upsertedPersons) SORT link.index RETURN link) " +
+                    "LET upsertedLocations = (FOR l IN @newLocations " +
+                    "UPSERT { locationKey: l.matchId } INSERT l.vertex UPDATE {} IN locations " +
+                    "RETURN NEW._key) " +
+                    "LET locationKeys = APPEND(@knownLocations, upsertedLocations) " +
+                    "LET evidenceKeys = (FOR ev IN @evidence INSERT ev INTO evidence OPTIONS { overwriteMode: 'replace' } RETURN NEW._key) " +
+                    "LET personEdgeKeys = (FOR link IN personLinks " +
+                    "INSERT { _key: MD5(CONCAT(caseDoc._key, '>', link.key)), _from: caseDoc._id, _to: CONCAT('persons/', link.key), " +
+                    "role: link.role, relationshipType: 'INVOLVED_IN' } " +
+                    "INTO case_person OPTIONS { overwriteMode: 'replace' } RETURN NEW._key) " +
+                    "LET locationEdgeKeys = (FOR key IN locationKeys " +
+                    "INSERT { _key: MD5(CONCAT(caseDoc._key, '>', key)), _from: caseDoc._id, _to: CONCAT('locations/', key), " +
+                    "relationshipType: 'OCCURRED_AT' } " +
+                    "INTO case_location OPTIONS { overwriteMode: 'replace' } RETURN NEW._key) " +
+                    "LET evidenceEdgeKeys = (FOR key IN evidenceKeys " +
+                    "INSERT { _key: MD5(CONCAT(caseDoc._key, '>', key)), _from: caseDoc._id, _to: CONCAT('evidence/', key), " +
+                    "relationshipType: 'HAS_EVIDENCE' } " +
+                    "INTO case_evidence OPTIONS { overwriteMode: 'replace' } RETURN NEW._key) " +
+                    "RETURN { " +
+                    "caseKey: caseDoc._key, " +
+                    "personKeys: personLinks[*].key, " +
+                    "locationKey: FIRST(locationKeys), " +
+                    "evidenceKeys: evidenceKeys, " +
+                    "edgeCount: LENGTH(personEdgeKeys) + LENGTH(locationEdgeKeys) + LENGTH(evidenceEdgeKeys) }",
+            "case", "newPersons", "knownPersons", "newLocations", "knownLocations", "evidence"),
+
+    UPSERT_PERSONS(
+            "FOR p IN @persons " +
+                    "UPSERT { personId: p.personId } INSERT p UPDATE {} IN persons " +
+                    "RETURN { businessId: p.personId, key: NEW._key }",
+            "persons"),
+
+    UPSERT_LOCATIONS(
+            "FOR l IN @locations " +
+                    "UPSERT { locationKey: l.locationKey } INSERT l UPDATE {} IN locations " +
+                    "RETURN { businessId: l.locationKey, key: NEW._key }",
+            "locations"),
+
+    /**
+     * Single edge writes of the per-document path. Edge keys are derived from both endpoints the same
+     * way as in {@link #SAVE_CASE_GRAPH}, so a repeated write replaces the edge instead of adding one.
+     */
+    CREATE_CASE_PERSON_EDGE(
+            "INSERT { _key: MD5(CONCAT(PARSE_IDENTIFIER(@from).key, '>', PARSE_IDENTIFIER(@to).key)), " +
+                    "_from: @from, _to: @to, role: @role, relationshipType: 'INVOLVED_IN' } " +
+                    "INTO case_person OPTIONS { overwriteMode: 'replace' }",
+            "from", "to", "role"),
+
+    CREATE_CASE_LOCATION_EDGE(
+            "INSERT { _key: MD5(CONCAT(PARSE_IDENTIFIER(@from).key, '>', PARSE_IDENTIFIER(@to).key)), " +
+                    "_from: @from, _to: @to, relationshipType: 'OCCURRED_AT' } " +
+                    "INTO case_location OPTIONS { overwriteMode: 'replace' }",
+            "from", "to"),
+
+    CREATE_CASE_EVIDENCE_EDGE(
+            "INSERT { _key: MD5(CONCAT(PARSE_IDENTIFIER(@from).key, '>', PARSE_IDENTIFIER(@to).key)), " +
+                    "_from: @from, _to: @to, relationshipType: 'HAS_EVIDENCE' } " +
+                    "INTO case_evidence OPTIONS { overwriteMode: 'replace' }",
+            "from", "to"),
+
+    SIMILAR_CASES(
+            "FOR case IN cases " +
+                    "FILTER case.caseType == @caseType AND case.caseId != @caseId " +
+                    "RETURN case",
+            "caseType", "caseId"),
+
+    CASE_DOCUMENTS(
+            "FOR case IN cases " +
+                    "RETURN { key: case._key, caseId: case.caseId, caseType: case.caseType, description: case.description }"),
+
+    CASE_DISTRICTS(
+            "FOR edge IN case_location " +
+                    "LET location = DOCUMENT(edge._to) " +
+                    "FILTER location.district != null " +
+                    "RETURN { caseKey: PARSE_IDENTIFIER(edge._from).key, district: location.district }"),
+
+    /**
+     * A case and everything linked to it in one round trip. Looks the case up on the caseId index
+     * and follows its outgoing edges.
+     */
+    CASE_BY_ID(
+            "FOR c IN cases FILTER c.caseId == @caseId SORT c.reportedAt DESC LIMIT 1 " +
+                    "RETURN { " +
+                    "caseVertex: c, " +
+                    "persons: (FOR p, edge IN 1..1 OUTBOUND c case_person RETURN { person: p, role: edge.role }), " +
+                    "location: FIRST(FOR l IN 1..1 OUTBOUND c case_location RETURN l), " +
+                    "evidence: (FOR ev IN 1..1 OUTBOUND c case_evidence RETURN ev) }",
+            "caseId"),
+
+    CASE_PERSON_EDGES(
+            "FOR edge IN case_person " +
+                    "RETURN { caseKey: PARSE_IDENTIFIER(edge._from).key, personKey: PARSE_IDENTIFIER(edge._to).key }"),
+
+    CASE_PERSON_IDS(
+            "FOR edge IN case_person " +
+                    "LET person = DOCUMENT(edge._to) " +
+                    "FILTER person.personId != null " +
+                    "RETURN { caseKey: PARSE_IDENTIFIER(edge._from).key, personId: person.personId }"),
+
+    DISTRICT_CASE_COUNTS(
+            "FOR edge IN case_location " +
+                    "LET location = DOCUMENT(edge._to) " +
+                    "FILTER location.district != null " +
+                    "COLLECT district = location.district WITH COUNT INTO crimeCount " +
+                    "RETURN { district: district, crimeCount: crimeCount }"),
+
+    DISTRICT_CASES_SINCE(
+            "FOR edge IN case_location " +
+                    "LET case = DOCUMENT(edge._from) " +
+                    "FILTER case.reportedAt >= @since " +
+                    "LET location = DOCUMENT(edge._to) " +
+                    "FILTER location.district != null " +
+                    "RETURN { district: location.district, reportedAt: case.reportedAt }",
+            "since");
+
+    private final String aql;
+    private final Set<String> bindVars;
+
+    GraphQuery(String aql, String... bindVars) {
+        this.aql = aql;
+        this.bindVars = Set.of(bindVars);
+    }
+
+    public String getAql() {
+        return aql;
+    }
+
+    public Set<String> getBindVars() {
+        return bindVars;
+    }
+
+    /**
+     * Queries that read whole collections on purpose: the startup rebuilds of the in-memory
+     * pattern indexes. Every other query is expected to be index-backed.
+     */
+    public boolean scansByDesign() {
+        return switch (this) {
+            case CASE_DOCUMENTS, CASE_DISTRICTS, CASE_PERSON_EDGES, CASE_PERSON_IDS,
+                 DISTRICT_CASE_COUNTS, DISTRICT_CASES_SINCE -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Metric tag value, e.g. {@code similar_cases}.
+     */
+    public String metricName() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,220 @@
+package com.poc.case_processing_service.routes;
+
+import com.poc.case_ingestion_service.codec.CaseReportCodec;
+import com.poc.case_ingestion_service.codec.CaseWireFormat;
+import com.poc.case_ingestion_service.model.CaseReport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Failure pipeline for cases that could not be stored. A failed case is retried with exponential
+ * backoff on the retry workers, never on the Kafka consumer thread: the delay is scheduled
+ * asynchronously and the retry goes through {@code direct:processCase} like a fresh record. Once
+ * {@code case-processing.retry.max-attempts} retries have failed, or the retry queue is full, the
+ * original record is published to {@value #DLQ_TOPIC} with error metadata headers and its offset is
+ * committed. Records that could not be decoded are dead-lettered on the first failure, since a retry
+ * would fail the same way. {@code POST /api/admin/dlq/replay} feeds dead letters back into case-events.
+ *
+ * <p>Retries are held in memory. Handing a case to the retry queue counts as handling its record: the
+ * original offset is reported to {@link OffsetCommitTracker} and the retry carries no commit of its own,
+ * so a retry finishing late never moves the group's offset backwards. A restart while a retry is
+ * pending therefore loses that retry. Retries bypass the per-case ordering of the consumer, so a retry
+ * is dropped when {@link CaseVersionTracker} has seen a newer version of the case stored meanwhile.
+ */
+@Component
+@RequiredArgsConstructor
+public class CaseFailureRoute extends RouteBuilder {
+
+    public static final String DLQ_TOPIC = "case-events-dlq";
+
+    public static final String DLQ_ERROR_CLASS = "dlqErrorClass";
+    public static final String DLQ_ERROR_MESSAGE = "dlqErrorMessage";
+    public static final String DLQ_ATTEMPTS = "dlqAttempts";
+    public static final String DLQ_FAILED_AT = "dlqFailedAt";
+    public static final String DLQ_SOURCE_PARTITION = "dlqSourcePartition";
+    public static final String DLQ_SOURCE_OFFSET = "dlqSourceOffset";
+
+    /**
+     * Original record value, kept on the exchange so dead letters carry the bytes that were received
+     */
+    static final String RAW_PAYLOAD_PROPERTY = "caseRawPayload";
+
+    static final String RETRY_ATTEMPT_HEADER = "caseRetryAttempt";
+    private static final String RETRY_DELAY_HEADER = "caseRetryDelayMs";
+
+    private static final String RETRY_QUEUE = "seda:caseRetries"
+            + "?size={{case-processing.retry.queue-size:1000}}"
+            + "&concurrentConsumers={{case-processing.retry.workers:2}}"
+            + "&blockWhenFull=false";
+
+    private static final String KAFKA_DLQ =
+            "kafka:" + DLQ_TOPIC + "?brokers={{case-processing.kafka.brokers:pkc-l7pr2.ap-south-1.aws.confluent.cloud:9092}}"
+                    + "&valueSerializer=org.apache.kafka.common.serialization.ByteArraySerializer";
+
+    private final MeterRegistry meterRegistry;
+    private final CaseReportCodec caseReportCodec;
+    private final OffsetCommitTracker offsetCommitTracker;
+    private final CaseVersionTracker caseVersionTracker;
+
+    @Value("${case-processing.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${case-processing.retry.initial-delay-ms:1000}")
+    private long initialDelayMs;
+
+    @Value("${case-processing.retry.multiplier:4.0}")
+    private double multiplier;
+
+    @Value("${case-processing.retry.max-delay-ms:60000}")
+    private long maxDelayMs;
+
+    private ProducerTemplate failureTemplate;
+    private Counter retried;
+    private Counter deadLettered;
+    private Counter lost;
+    private Counter superseded;
+
+    @Override
+    public void configure() throws Exception {
+        failureTemplate = getContext().createProducerTemplate();
+        retried = failureCounter("retried");
+        deadLettered = failureCounter("dead_lettered");
+        lost = failureCounter("lost");
+        superseded = failureCounter("superseded");
+
+        from("direct:handleError")
+                .routeId("error-handling-route")
+                .process(this::handleFailure);
+
+        from(RETRY_QUEUE)
+                .routeId("case-retry-route")
+                .delay(header(RETRY_DELAY_HEADER)).asyncDelayed()
+                .process(this::dropSuperseded)
+                .log("Retrying case ${body.caseId}, attempt ${header." + RETRY_ATTEMPT_HEADER + "}")
+                .to("direct:processCase");
+    }
+
+    private Counter failureCounter(String outcome) {
+        return Counter.builder("case.failures")
+                .description("Cases that failed to store, by what happened to them next")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void handleFailure(Exchange exchange) {
+        Exception exception = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class);
+        int attempt = exchange.getIn().getHeader(RETRY_ATTEMPT_HEADER, 0, Integer.class);
+        Object body = exchange.getIn().getBody();
+        String caseId = body instanceof CaseReport ? ((CaseReport) body).getCaseId() : null;
+        log.error("Case processing failed for case {} (attempt {}): {}", caseId, attempt + 1,
+                exception != null ? exception.getMessage() : "unknown error", exception);
+
+        if (attempt < maxAttempts && body instanceof CaseReport && scheduleRetry(exchange, attempt + 1)) {
+            retried.increment();
+            return;
+        }
+        deadLetter(exchange, caseId, exception, attempt + 1);
+    }
+
+    /**
+     * Queue the case for another attempt; false when the retry queue is full
+     */
+    private boolean scheduleRetry(Exchange exchange, int attempt) {
+        Exchange retry = exchange.copy();
+        retry.removeProperty(Exchange.EXCEPTION_CAUGHT);
+        retry.setException(null);
+        retry.getIn().removeHeader(KafkaConstants.MANUAL_COMMIT);
+        retry.getIn().setHeader(RETRY_ATTEMPT_HEADER, attempt);
+        retry.getIn().setHeader(RETRY_DELAY_HEADER, retryDelayMs(attempt));
+        failureTemplate.send(RETRY_QUEUE, retry);
+        if (retry.getException() != null) {
+            log.warn("Retry queue is full, dead-lettering case instead");
+            return false;
+        }
+        offsetCommitTracker.handled(exchange);
+        return true;
+    }
+
+    /**
+     * Stop a retry whose case was stored again from a newer record while it waited
+     */
+    private void dropSuperseded(Exchange exchange) {
+        String caseId = exchange.getIn().getBody(CaseReport.class).getCaseId();
+        if (caseVersionTracker.superseded(caseId, exchange)) {
+            superseded.increment();
+            log.info("Dropping retry of case {}, a newer version is already stored", caseId);
+            exchange.setRouteStop(true);
+        }
+    }
+
+    private long retryDelayMs(int attempt) {
+        return (long) Math.min(maxDelayMs, initialDelayMs * Math.pow(multiplier, attempt - 1));
+    }
+
+    /**
+     * Publish the original record to the dead letter topic and commit its offset once it is there
+     */
+    private void deadLetter(Exchange failed, String caseId, Exception exception, int attempts) {
+        byte[] payload = failed.getProperty(RAW_PAYLOAD_PROPERTY, byte[].class);
+        String format = failed.getIn().getHeader(CaseWireFormat.HEADER, String.class);
+        if (payload == null && failed.getIn().getBody() instanceof CaseReport) {
+            payload = caseReportCodec.encode(failed.getIn().getBody(CaseReport.class), CaseWireFormat.JSON);
+            format = CaseWireFormat.JSON.headerValue();
+        }
+        if (payload == null) {
+            lost.increment();
+            log.error("Case {} failed and has no payload to dead-letter, dropping it", caseId);
+            offsetCommitTracker.handled(failed);
+            return;
+        }
+
+        byte[] value = payload;
+        String wireFormat = format;
+        // An undecodable record has no caseId; keep its original key so it stays on the case's partition
+        String key = caseId != null ? caseId : failed.getIn().getHeader(KafkaConstants.KEY, String.class);
+        Exchange sent = failureTemplate.send(KAFKA_DLQ, dlq -> {
+            Message message = dlq.getIn();
+            message.setBody(value);
+            if (key != null) {
+                message.setHeader(KafkaConstants.KEY, key);
+            }
+            if (wireFormat != null) {
+                message.setHeader(CaseWireFormat.HEADER, wireFormat);
+            }
+            message.setHeader(DLQ_ERROR_CLASS, exception != null ? exception.getClass().getName() : "unknown");
+            message.setHeader(DLQ_ERROR_MESSAGE, exception != null ? String.valueOf(exception.getMessage()) : "");
+            message.setHeader(DLQ_ATTEMPTS, String.valueOf(attempts));
+            message.setHeader(DLQ_FAILED_AT, Instant.now().toString());
+            copyHeader(failed, KafkaConstants.PARTITION, message, DLQ_SOURCE_PARTITION);
+            copyHeader(failed, KafkaConstants.OFFSET, message, DLQ_SOURCE_OFFSET);
+        });
+
+        if (sent.getException() != null) {
+            lost.increment();
+            log.error("Could not dead-letter case {}, leaving its offset uncommitted: {}",
+                    caseId, sent.getException().getMessage());
+            return;
+        }
+        deadLettered.increment();
+        log.warn("Case {} dead-lettered to {} after {} attempts", caseId, DLQ_TOPIC, attempts);
+
+        offsetCommitTracker.handled(failed);
+    }
+
+    private static void copyHeader(Exchange from, String name, Message to, String as) {
+        Object value = from.getIn().getHeader(name);
+        if (value != null) {
+            to.setHeader(as, value.toString());
+        }
+    }
+}
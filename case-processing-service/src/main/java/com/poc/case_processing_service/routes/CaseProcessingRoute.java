@@ -1,40 +1,164 @@
 package com.poc.case_processing_service.routes;
 
+import com.poc.case_ingestion_service.codec.CaseEventHeaders;
+import com.poc.case_ingestion_service.codec.CaseReportCodec;
+import com.poc.case_ingestion_service.codec.CaseWireFormat;
 import com.poc.case_ingestion_service.model.CaseReport;
-import com.poc.case_ingestion_service.model.Evidence;
-import com.poc.case_ingestion_service.model.Location;
+import com.poc.case_ingestion_service.model.CaseType;
 import com.poc.case_ingestion_service.model.Person;
+import com.poc.case_ingestion_service.model.PersonRole;
+import com.poc.case_processing_service.metrics.CaseLatencyMetrics;
+import com.poc.case_processing_service.model.CaseGraphResult;
 import com.poc.case_processing_service.model.CaseVertex;
-import com.poc.case_processing_service.model.EvidenceVertex;
-import com.poc.case_processing_service.model.PersonVertex;
-import com.poc.case_processing_service.model.LocationVertex;
+import com.poc.case_processing_service.model.RecurringPerson;
+import com.poc.case_processing_service.model.SimilarCase;
+import com.poc.case_processing_service.pattern.HotspotTracker;
+import com.poc.case_processing_service.pattern.PersonCaseIndex;
+import com.poc.case_processing_service.pattern.SimilarCaseIndex;
+import com.poc.case_processing_service.service.AsyncGraphDatabaseService;
+import com.poc.case_processing_service.service.CaseReadService;
 import com.poc.case_processing_service.service.GraphDatabaseService;
+import com.poc.case_processing_service.service.ProcessedCaseFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.RouteBuilder;
-import org.apache.camel.model.dataformat.JsonLibrary;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.aggregate.GroupedExchangeAggregationStrategy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Component
 @RequiredArgsConstructor
 public class CaseProcessingRoute extends RouteBuilder {
 
+    static final String CASE_GRAPH_PROPERTY = "caseGraph";
+    static final String SIMILAR_CASES_PROPERTY = "similarCases";
+    static final String RECURRING_PERSONS_PROPERTY = "recurringPersons";
+    static final String ENQUEUED_AT_PROPERTY = "patternEnqueuedAt";
+    static final String CONTENT_HASH_PROPERTY = "caseContentHash";
+    static final String BATCH_SEQUENCE_PROPERTY = "caseBatchSequence";
+
+    /**
+     * Pattern detection stage. Carries only case IDs; the latest stored version of each case waits in
+     * {@link #pendingPatternDetection}, so a case stored again before its turn is detected once.
+     */
+    static final String PATTERN_QUEUE = "seda:patternDetection"
+            + "?size={{pattern-detection.queue-size:10000}}"
+            + "&concurrentConsumers={{pattern-detection.workers:4}}"
+            + "&blockWhenFull=false";
+
+    /**
+     * Each of the consumersCount consumers runs on its own thread and owns a share of the partitions,
+     * so cases are processed in parallel across partitions and in order within one. Ingestion keys
+     * records by caseId, so all updates of a case stay ordered. More consumers than partitions sit idle.
+     * Offsets are committed manually once a case is handled, through {@link OffsetCommitTracker} so a
+     * commit never covers a record still in flight (and through the async commit factory, so commits
+     * from other threads run on the owning consumer thread).
+     */
+    private static final String KAFKA_CASE_EVENTS =
+            "kafka:case-events?brokers={{case-processing.kafka.brokers:pkc-l7pr2.ap-south-1.aws.confluent.cloud:9092}}"
+                    + "&groupId=case-processing-group"
+                    + "&consumersCount={{case-processing.kafka.consumers-count:1}}"
+                    + "&maxPollRecords={{case-processing.kafka.max-poll-records:500}}"
+                    + "&autoOffsetReset={{case-processing.kafka.auto-offset-reset:latest}}"
+                    + "&autoCommitEnable=false&allowManualCommit=true"
+                    + "&kafkaManualCommitFactory=#class:org.apache.camel.component.kafka.consumer.DefaultKafkaManualAsyncCommitFactory"
+                    + "&valueDeserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer";
+
     private final GraphDatabaseService graphDatabaseService;
+    private final AsyncGraphDatabaseService asyncGraphDatabaseService;
+    private final MeterRegistry meterRegistry;
+    private final HotspotTracker hotspotTracker;
+    private final SimilarCaseIndex similarCaseIndex;
+    private final PersonCaseIndex personCaseIndex;
+    private final CaseReportCodec caseReportCodec;
+    private final CaseReadService caseReadService;
+    private final ProcessedCaseFilter processedCaseFilter;
+    private final CaseLatencyMetrics caseLatencyMetrics;
+    private final OffsetCommitTracker offsetCommitTracker;
+    private final CaseVersionTracker caseVersionTracker;
+
+    @Value("${case-processing.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    @Value("${case-processing.batch.size:200}")
+    private int batchSize;
+
+    @Value("${case-processing.batch.linger-ms:200}")
+    private long batchLingerMs;
+
+    @Value("${graph.async.enabled:false}")
+    private boolean asyncEnabled;
+
+    @Value("${similarity.top-k:10}")
+    private int similarCaseLimit;
+
+    @Value("${similarity.alert-score:8.0}")
+    private double similarCaseAlertScore;
+
+    private Timer batchLatency;
+    private DistributionSummary batchRecords;
+    private Counter batchFailures;
+    private ProducerTemplate batchErrorTemplate;
+    private ProducerTemplate asyncTemplate;
+
+    /**
+     * Last write started per caseId on the async path; the next update of the case starts after it
+     */
+    private final Map<String, CompletableFuture<?>> caseWriteTails = new ConcurrentHashMap<>();
+
+    /**
+     * Sequence of the next batch allowed to write. Batches completed by size (consumer thread) and by
+     * timeout (aggregator timer thread) can overlap, so they take turns in the order they were built.
+     */
+    private final Object batchTurn = new Object();
+    private long nextBatch;
+
+    private final Map<String, Exchange> pendingPatternDetection = new ConcurrentHashMap<>();
+    private ProducerTemplate patternTemplate;
+    private Timer patternLag;
+    private Counter patternCoalesced;
+    private Counter patternDropped;
+    private Counter patternFailures;
 
     @Override
     public void configure() throws Exception {
+        configurePatternStage();
 
-        from("kafka:case-events?brokers=pkc-l7pr2.ap-south-1.aws.confluent.cloud:9092&groupId=case-processing-group")
-                .routeId("kafka-consumer-route")
-                .log("Received case from Kafka: ${body}")
-                .unmarshal().json(JsonLibrary.Jackson, CaseReport.class)
-                .to("direct:processCase");
+        if (batchEnabled) {
+            configureBatchConsumer();
+        } else if (asyncEnabled) {
+            configureAsyncConsumer();
+        } else {
+            consumeCaseEvents()
+                    .process(this::skipReplay)
+                    .to("direct:processCase");
+        }
 
         from("direct:processCase")
                 .routeId("case-processing-route")
                 .log("Processing case: ${body.caseId}")
                 .doTry()
                 .process(this::processAndStoreCase)
-                .to("direct:detectPatterns")
+                .process(this::enqueuePatternDetection)
                 .log("Successfully processed case: ${body.caseId}")
                 .doCatch(Exception.class)
                 .log("Error processing case: ${exception.message}")
@@ -46,50 +170,356 @@ public class CaseProcessingRoute extends RouteBuilder {
                 .log("Running pattern detection for case: ${body.caseId}")
                 .process(this::detectPatterns)
                 .process(this::generateAlerts);
+    }
 
-        from("direct:handleError")
-                .routeId("error-handling-route")
-                .log("Handling error for case processing")
-                .process(exchange -> {
-                    Exception exception = exchange.getProperty("CamelExceptionCaught", Exception.class);
-                    log.error("Case processing failed: {}", exception.getMessage(), exception);
-                });
+    /**
+     * The case-events consumer up to a decoded CaseReport body. A record that cannot be decoded (a
+     * malformed payload or an unknown caseFormat header) will not decode on a retry either, so it goes
+     * straight to {@code direct:handleError}, which dead-letters the original bytes and commits its offset.
+     */
+    private ProcessorDefinition<?> consumeCaseEvents() {
+        return from(KAFKA_CASE_EVENTS)
+                .routeId("kafka-consumer-route")
+                .process(offsetCommitTracker::received)
+                .process(caseVersionTracker::received)
+                .doTry()
+                .process(this::decodeCaseReport)
+                .doCatch(Exception.class)
+                .log(LoggingLevel.ERROR, "Could not decode case record: ${exception.message}")
+                .to("direct:handleError")
+                .stop()
+                .end()
+                .log("Received case from Kafka: ${body.caseId}");
     }
 
     /**
-     * Process case report and store all entities in graph database
+     * Pattern detection and alerting run on their own worker pool behind a bounded queue, so analytics
+     * latency never holds up the Kafka consumer. Under overload new cases are dropped from the stage
+     * (they are stored, only their alerts are skipped) and counted in {@code pattern.detection.dropped}.
      */
-    private void processAndStoreCase(org.apache.camel.Exchange exchange) {
+    private void configurePatternStage() {
+        patternTemplate = getContext().createProducerTemplate();
+        patternLag = Timer.builder("pattern.detection.lag")
+                .description("Time a stored case waits in the queue before pattern detection starts")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        patternCoalesced = Counter.builder("pattern.detection.coalesced")
+                .description("Cases stored again while still queued, detected once with the latest version")
+                .register(meterRegistry);
+        patternDropped = Counter.builder("pattern.detection.dropped")
+                .description("Stored cases skipped by pattern detection because the queue was full")
+                .register(meterRegistry);
+        patternFailures = Counter.builder("pattern.detection.failures")
+                .description("Pattern detection or alert generation runs that failed; the case itself is stored")
+                .register(meterRegistry);
+        Gauge.builder("pattern.detection.queue.depth", pendingPatternDetection, Map::size)
+                .description("Cases waiting for pattern detection")
+                .register(meterRegistry);
+
+        from(PATTERN_QUEUE)
+                .routeId("pattern-queue-route")
+                .process(this::takePendingPatternDetection)
+                .filter(body().isNotNull())
+                .to("direct:detectPatterns");
+    }
+
+    /**
+     * Hand a stored case to the pattern stage without waiting for it
+     */
+    private void enqueuePatternDetection(Exchange exchange) {
+        String caseId = exchange.getIn().getBody(CaseVertex.class).getCaseId();
+        Exchange pending = exchange.copy();
+        pending.setProperty(ENQUEUED_AT_PROPERTY, System.nanoTime());
+
+        if (pendingPatternDetection.put(caseId, pending) != null) {
+            patternCoalesced.increment();
+            return;
+        }
+        try {
+            patternTemplate.sendBody(PATTERN_QUEUE, caseId);
+        } catch (CamelExecutionException e) {
+            pendingPatternDetection.remove(caseId);
+            patternDropped.increment();
+            log.warn("Pattern detection queue is full, skipping case {}", caseId);
+        }
+    }
+
+    /**
+     * Swap the queued case ID for the latest stored version of that case
+     */
+    private void takePendingPatternDetection(Exchange exchange) {
+        Exchange pending = pendingPatternDetection.remove(exchange.getIn().getBody(String.class));
+        if (pending == null) {
+            exchange.getIn().setBody(null);
+            return;
+        }
+        patternLag.record(System.nanoTime() - pending.getProperty(ENQUEUED_AT_PROPERTY, Long.class), TimeUnit.NANOSECONDS);
+        exchange.setProperty(CASE_GRAPH_PROPERTY, pending.getProperty(CASE_GRAPH_PROPERTY));
+        exchange.getIn().setBody(pending.getIn().getBody());
+    }
+
+    /**
+     * Micro-batching consumer: collects up to batchSize records or waits batchLingerMs, writes the
+     * batch with one bulk insert per collection and only then reports the records as handled.
+     * Replayed records stay in the batch so their offsets are committed in order, but are not written.
+     * Batches are written one at a time in the order they were built, and only the latest update of a
+     * case within a batch is written, so updates of a case are stored in consumption order.
+     */
+    private void configureBatchConsumer() {
+        batchLatency = Timer.builder("case.batch.latency")
+                .description("Time to write and commit one batch of cases")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchRecords = DistributionSummary.builder("case.batch.size")
+                .description("Number of cases per batch")
+                .baseUnit("cases")
+                .register(meterRegistry);
+        batchFailures = Counter.builder("case.batch.failures")
+                .description("Batches that fell back to per-case writes")
+                .register(meterRegistry);
+        batchErrorTemplate = getContext().createProducerTemplate();
+
+        consumeCaseEvents()
+                .aggregate(constant(true), new SequencedBatchStrategy())
+                .completionSize(batchSize)
+                .completionTimeout(batchLingerMs)
+                .to("direct:processCaseBatch");
+
+        from("direct:processCaseBatch")
+                .routeId("case-batch-processing-route")
+                .process(this::processAndStoreCaseBatch)
+                .split(body())
+                .process(this::unwrapStoredCase)
+                .process(this::enqueuePatternDetection);
+    }
+
+    /**
+     * Async consumer: each record is handed to the async graph service and the consumer thread moves
+     * on to the next one while the write is in flight. Error handling runs on the service's completion
+     * threads once the write finishes; pattern detection is queued from there like on the other paths.
+     * A record counts as handled when its own write completes, but its offset is only committed once
+     * every earlier record of the partition is handled too.
+     */
+    private void configureAsyncConsumer() {
+        asyncTemplate = getContext().createProducerTemplate();
+
+        consumeCaseEvents()
+                .process(this::skipReplay)
+                .process(this::storeCaseAsync);
+    }
+
+    /**
+     * Start the graph write and continue the exchange from its completion callback. Writes of the same
+     * case are chained, so updates are stored in the order they were consumed even with many writes in
+     * flight.
+     */
+    private void storeCaseAsync(Exchange exchange) {
+        CaseReport caseReport = exchange.getIn().getBody(CaseReport.class);
+        Exchange pending = exchange.copy();
+
+        try {
+            sequencedWrite(caseReport).whenComplete((result, error) -> {
+                if (error != null) {
+                    sendToErrorHandler(pending, error);
+                    return;
+                }
+                indexStoredCase(caseReport);
+                acknowledgeStored(pending, caseReport);
+                pending.setProperty(CASE_GRAPH_PROPERTY, result);
+                pending.getIn().setBody(result.getCaseVertex());
+                enqueuePatternDetection(pending);
+            });
+        } catch (Exception e) {
+            sendToErrorHandler(pending, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<CaseGraphResult> sequencedWrite(CaseReport caseReport) {
+        String caseId = caseReport.getCaseId();
+        if (caseId == null) {
+            return asyncGraphDatabaseService.saveCaseGraph(caseReport);
+        }
+        CompletableFuture<CaseGraphResult> write = (CompletableFuture<CaseGraphResult>) caseWriteTails.compute(caseId,
+                (id, tail) -> tail == null
+                        ? asyncGraphDatabaseService.saveCaseGraph(caseReport)
+                        : tail.handle((result, error) -> null)
+                                .thenCompose(previous -> asyncGraphDatabaseService.saveCaseGraph(caseReport)));
+        write.whenComplete((result, error) -> caseWriteTails.remove(caseId, write));
+        return write;
+    }
+
+    private void sendToErrorHandler(Exchange exchange, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        exchange.setProperty(Exchange.EXCEPTION_CAUGHT,
+                cause instanceof Exception ? cause : new IllegalStateException(cause));
+        asyncTemplate.send("direct:handleError", exchange);
+    }
+
+    /**
+     * Decode the record value in the format named by its caseFormat header (JSON when absent). The raw
+     * payload is kept first, so a record that fails to decode can still be dead-lettered as received.
+     */
+    private void decodeCaseReport(Exchange exchange) {
+        byte[] payload = exchange.getIn().getBody(byte[].class);
+        exchange.setProperty(CaseFailureRoute.RAW_PAYLOAD_PROPERTY, payload);
+        exchange.setProperty(CONTENT_HASH_PROPERTY, ProcessedCaseFilter.contentHash(payload));
+        CaseWireFormat format = CaseWireFormat.fromHeader(exchange.getIn().getHeader(CaseWireFormat.HEADER, String.class));
+        exchange.getIn().setBody(caseReportCodec.decode(payload, format));
+    }
+
+    /**
+     * Drop a redelivered record whose content was already stored, committing its offset
+     */
+    private void skipReplay(Exchange exchange) {
         CaseReport caseReport = exchange.getIn().getBody(CaseReport.class);
+        if (processedCaseFilter.isReplay(caseReport.getCaseId(), exchange.getProperty(CONTENT_HASH_PROPERTY, Long.class))) {
+            log.info("Skipping replayed case {}, already stored", caseReport.getCaseId());
+            commitOffset(exchange);
+            exchange.setRouteStop(true);
+        }
+    }
+
+    /**
+     * Remember the stored content for replay detection and commit the record's offset
+     */
+    private void acknowledgeStored(Exchange exchange, CaseReport caseReport) {
+        recordStored(exchange, caseReport);
+        commitOffset(exchange);
+    }
+
+    /**
+     * Remember the stored content for replay detection and the stored version for retries, and record
+     * the case's end-to-end latency
+     */
+    private void recordStored(Exchange exchange, CaseReport caseReport) {
+        processedCaseFilter.markStored(caseReport.getCaseId(), exchange.getProperty(CONTENT_HASH_PROPERTY, Long.class));
+        caseVersionTracker.stored(caseReport.getCaseId(), exchange);
+        caseLatencyMetrics.committed(caseReport, exchange.getIn().getHeader(CaseEventHeaders.INGESTED_AT, String.class));
+    }
+
+    private void commitOffset(Exchange exchange) {
+        offsetCommitTracker.handled(exchange);
+    }
+
+    /**
+     * Store a batch of case reports, then report every record as handled. A record that fails on its
+     * own goes to the error handler, which reports it once it is retried or dead-lettered.
+     */
+    @SuppressWarnings("unchecked")
+    private void processAndStoreCaseBatch(Exchange exchange) throws InterruptedException {
+        long sequence = exchange.getProperty(BATCH_SEQUENCE_PROPERTY, Long.class);
+        synchronized (batchTurn) {
+            while (nextBatch != sequence) {
+                batchTurn.wait();
+            }
+        }
+        try {
+            storeCaseBatch(exchange);
+        } finally {
+            synchronized (batchTurn) {
+                nextBatch++;
+                batchTurn.notifyAll();
+            }
+        }
+    }
 
-        CaseVertex caseVertex = createCaseVertex(caseReport);
-        String caseKey = graphDatabaseService.saveCaseToGraph(caseVertex);
+    @SuppressWarnings("unchecked")
+    private void storeCaseBatch(Exchange exchange) {
+        List<Exchange> batch = exchange.getIn().getBody(List.class);
 
-        if (caseReport.getInvolvedPersons() != null) {
-            for (Person person : caseReport.getInvolvedPersons()) {
-                PersonVertex personVertex = createPersonVertex(person);
-                String personKey = graphDatabaseService.savePersonToGraph(personVertex);
-                graphDatabaseService.createCasePersonRelationship(caseKey, personKey, person.getRole());
+        // One write per case: a later update in the same batch supersedes the earlier ones
+        Map<String, Exchange> latestPerCase = new HashMap<>();
+        for (Exchange record : batch) {
+            String caseId = record.getIn().getBody(CaseReport.class).getCaseId();
+            if (caseId != null) {
+                latestPerCase.put(caseId, record);
             }
         }
 
-        if (caseReport.getLocation() != null) {
-            LocationVertex locationVertex = createLocationVertex(caseReport.getLocation());
-            String locationKey = graphDatabaseService.saveLocationToGraph(locationVertex);
-            graphDatabaseService.createCaseLocationRelationship(caseKey, locationKey);
+        List<Exchange> records = new ArrayList<>(batch.size());
+        List<CaseReport> caseReports = new ArrayList<>(batch.size());
+        for (Exchange record : batch) {
+            CaseReport caseReport = record.getIn().getBody(CaseReport.class);
+            if (caseReport.getCaseId() != null && latestPerCase.get(caseReport.getCaseId()) != record) {
+                commitOffset(record);
+            } else if (processedCaseFilter.isReplay(caseReport.getCaseId(), record.getProperty(CONTENT_HASH_PROPERTY, Long.class))) {
+                log.info("Skipping replayed case {}, already stored", caseReport.getCaseId());
+                commitOffset(record);
+            } else {
+                records.add(record);
+                caseReports.add(caseReport);
+            }
         }
 
-        if (caseReport.getEvidence() != null && !caseReport.getEvidence().isEmpty()) {
-            for (Evidence evidence : caseReport.getEvidence()) {
-                EvidenceVertex evidenceVertex = createEvidenceVertex(evidence);
-                String evidenceKey = graphDatabaseService.saveEvidenceToGraph(evidenceVertex);
-                // Create case-evidence relationship
-                graphDatabaseService.createCaseEvidenceRelationship(caseKey, evidenceKey);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<CaseGraphResult> stored = new ArrayList<>(caseReports.size());
+        try {
+            List<CaseGraphResult> results = graphDatabaseService.saveCaseGraphs(caseReports);
+            for (Exchange record : records) {
+                CaseReport caseReport = record.getIn().getBody(CaseReport.class);
+                indexStoredCase(caseReport);
+                acknowledgeStored(record, caseReport);
+            }
+            // Only once nothing can fall back any more, so the fallback never adds a case twice
+            stored.addAll(results);
+        } catch (Exception e) {
+            log.warn("Bulk write of {} cases failed, writing them one by one: {}", caseReports.size(), e.getMessage());
+            batchFailures.increment();
+            for (Exchange record : records) {
+                try {
+                    CaseReport caseReport = record.getIn().getBody(CaseReport.class);
+                    stored.add(graphDatabaseService.saveCaseGraph(caseReport));
+                    indexStoredCase(caseReport);
+                    acknowledgeStored(record, caseReport);
+                } catch (Exception caseError) {
+                    record.setProperty(Exchange.EXCEPTION_CAUGHT, caseError);
+                    batchErrorTemplate.send("direct:handleError", record);
+                }
             }
         }
 
-        exchange.getIn().setBody(caseVertex);
-        log.info("Successfully stored case {} with all related entities in graph database", caseKey);
+        sample.stop(batchLatency);
+        batchRecords.record(caseReports.size());
+
+        exchange.getIn().setBody(stored);
+        log.info("Stored batch of {} cases", stored.size());
+    }
+
+    /**
+     * Process case report and store all entities in graph database
+     */
+    private void processAndStoreCase(org.apache.camel.Exchange exchange) {
+        CaseReport caseReport = exchange.getIn().getBody(CaseReport.class);
+
+        CaseGraphResult result = graphDatabaseService.saveCaseGraph(caseReport);
+        indexStoredCase(caseReport);
+        acknowledgeStored(exchange, caseReport);
+
+        exchange.setProperty(CASE_GRAPH_PROPERTY, result);
+        exchange.getIn().setBody(result.getCaseVertex());
+        log.info("Successfully stored case {} with all related entities in graph database", result.getCaseKey());
+    }
+
+    /**
+     * Turn one stored batch entry into the same exchange shape the single-record path produces
+     */
+    private void unwrapStoredCase(Exchange exchange) {
+        CaseGraphResult result = exchange.getIn().getBody(CaseGraphResult.class);
+        exchange.setProperty(CASE_GRAPH_PROPERTY, result);
+        exchange.getIn().setBody(result.getCaseVertex());
+    }
+
+    /**
+     * Update the in-memory pattern indexes and drop the cached read copy of a case that is now stored in the graph.
+     * A district counts a case once: updates and replays of a case id the similar case index already holds are not counted.
+     */
+    private void indexStoredCase(CaseReport caseReport) {
+        caseReadService.invalidate(caseReport.getCaseId());
+        boolean newCase = similarCaseIndex.add(caseReport);
+        if (newCase && caseReport.getLocation() != null) {
+            hotspotTracker.record(caseReport.getLocation().getDistrict(), caseReport.getReportedAt());
+        }
     }
 
     /**
@@ -99,12 +529,12 @@ public class CaseProcessingRoute extends RouteBuilder {
         CaseVertex caseVertex = exchange.getIn().getBody(CaseVertex.class);
 
         try {
-            detectSimilarCases(caseVertex);
-            detectRecurringPersons(caseVertex);
-            detectLocationHotspots();
+            detectSimilarCases(exchange);
+            detectRecurringPersons(exchange);
             log.info("Pattern detection completed for case: {}", caseVertex.getCaseId());
         } catch (Exception e) {
-            log.error("Error in pattern detection for case {}: {}", caseVertex.getCaseId(), e.getMessage());
+            patternFailures.increment();
+            log.error("Error in pattern detection for case {}: {}", caseVertex.getCaseId(), e.getMessage(), e);
         }
     }
 
@@ -116,106 +546,91 @@ public class CaseProcessingRoute extends RouteBuilder {
 
         try {
             generateHighPriorityAlerts(caseVertex);
+            generateSimilarCaseAlerts(caseVertex, exchange.getProperty(SIMILAR_CASES_PROPERTY, List.class));
+            generateRepeatOffenderAlerts(caseVertex, exchange.getProperty(RECURRING_PERSONS_PROPERTY, List.class));
             log.info("Alert generation completed for case: {}", caseVertex.getCaseId());
         } catch (Exception e) {
-            log.error("Error generating alerts for case {}: {}", caseVertex.getCaseId(), e.getMessage());
-        }
-    }
-
-    private CaseVertex createCaseVertex(CaseReport caseReport) {
-        CaseVertex caseVertex = new CaseVertex();
-        caseVertex.setCaseId(caseReport.getCaseId());
-        caseVertex.setCaseType(caseReport.getCaseType());
-        caseVertex.setStatus(caseReport.getStatus());
-        caseVertex.setReportedAt(caseReport.getReportedAt() != null ?
-                caseReport.getReportedAt().toString() : null);
-        caseVertex.setDescription(caseReport.getDescription());
-        caseVertex.setReportingOfficer(caseReport.getReportingOfficer());
-        return caseVertex;
-    }
-
-    private EvidenceVertex createEvidenceVertex(Evidence evidenceReport) {
-        EvidenceVertex evidenceVertex = new EvidenceVertex();
-        evidenceVertex.setEvidenceId(evidenceReport.getEvidenceId());
-        evidenceVertex.setDescription(evidenceReport.getDescription());
-        evidenceVertex.setType(evidenceReport.getType());
-        evidenceVertex.setCollectedAt(evidenceReport.getCollectedAt() != null ?
-                evidenceReport.getCollectedAt().toString() : null);
-        // Fixed: Was setting description instead of collectedBy
-        evidenceVertex.setCollectedBy(evidenceReport.getCollectedBy());
-        return evidenceVertex;
-    }
-
-    private PersonVertex createPersonVertex(Person person) {
-        PersonVertex personVertex = new PersonVertex();
-        personVertex.setPersonId(person.getPersonId());
-        personVertex.setFirstName(person.getFirstName());
-        personVertex.setLastName(person.getLastName());
-        personVertex.setContactNumber(person.getContactNumber());
-        personVertex.setAddress(person.getAddress());
-        return personVertex;
-    }
-
-    private LocationVertex createLocationVertex(Location location) {
-        LocationVertex locationVertex = new LocationVertex();
-        locationVertex.setAddress(location.getAddress());
-        locationVertex.setCity(location.getCity());
-        locationVertex.setState(location.getState());
-        locationVertex.setCountry(location.getCountry());
-        locationVertex.setPostalCode(location.getPostalCode());
-        locationVertex.setDistrict(location.getDistrict());
-        return locationVertex;
-    }
-
-    private void detectSimilarCases(CaseVertex caseVertex) {
-        String query = String.format(
-                "FOR case IN cases " +
-                        "FILTER case.caseType == '%s' AND case.caseId != '%s' " +
-                        "RETURN case",
-                caseVertex.getCaseType(), caseVertex.getCaseId()
-        );
-
-        executeQuerySafely(query, "similar cases detection");
-    }
-
-    private void detectRecurringPersons(CaseVertex caseVertex) {
-        String query = String.format(
-                "FOR v, e, p IN 2..2 OUTBOUND 'cases/%s' case_person " +
-                        "COLLECT person = v WITH COUNT INTO caseCount " +
-                        "FILTER caseCount > 1 " +
-                        "RETURN { person: person, caseCount: caseCount }",
-                caseVertex.getCaseId()
-        );
-
-        executeQuerySafely(query, "recurring persons detection");
-    }
-
-    private void detectLocationHotspots() {
-        String query =
-                "FOR case IN cases " +
-                        "FOR location IN 1..1 OUTBOUND case case_location " +
-                        "COLLECT loc = location.district WITH COUNT INTO crimeCount " +
-                        "FILTER crimeCount > 5 " +
-                        "SORT crimeCount DESC " +
-                        "RETURN { district: loc, crimeCount: crimeCount }";
-
-        executeQuerySafely(query, "location hotspots detection");
+            patternFailures.increment();
+            log.error("Error generating alerts for case {}: {}", caseVertex.getCaseId(), e.getMessage(), e);
+        }
+    }
+
+    private void detectSimilarCases(org.apache.camel.Exchange exchange) {
+        CaseGraphResult caseGraph = exchange.getProperty(CASE_GRAPH_PROPERTY, CaseGraphResult.class);
+        if (caseGraph == null) {
+            return;
+        }
+
+        List<SimilarCase> similarCases = similarCaseIndex.findSimilar(caseGraph.getCaseReport(), similarCaseLimit);
+        exchange.setProperty(SIMILAR_CASES_PROPERTY, similarCases);
+        log.info("similar cases detection found {} candidates", similarCases.size());
+    }
+
+    private void detectRecurringPersons(org.apache.camel.Exchange exchange) {
+        CaseGraphResult caseGraph = exchange.getProperty(CASE_GRAPH_PROPERTY, CaseGraphResult.class);
+        if (caseGraph == null) {
+            return;
+        }
+
+        List<Person> persons = caseGraph.getCaseReport().getInvolvedPersons();
+        List<RecurringPerson> recurringPersons = new ArrayList<>();
+        for (int i = 0; i < caseGraph.getPersonKeys().size(); i++) {
+            String personKey = caseGraph.getPersonKeys().get(i);
+            int caseCount = personCaseIndex.caseCount(personKey);
+            if (caseCount > 1) {
+                recurringPersons.add(new RecurringPerson(personKey, persons.get(i).getRole(), caseCount));
+            }
+        }
+
+        exchange.setProperty(RECURRING_PERSONS_PROPERTY, recurringPersons);
+        log.info("recurring persons detection found {} persons", recurringPersons.size());
     }
 
     private void generateHighPriorityAlerts(CaseVertex caseVertex) {
-        String caseType = caseVertex.getCaseType();
-        if ("ASSAULT".equals(caseType) || "ROBBERY".equals(caseType) || "HOMICIDE".equals(caseType)) {
+        CaseType caseType = caseVertex.getCaseType();
+        if (caseType != null && caseType.isHighPriority()) {
             log.warn("HIGH PRIORITY ALERT: {} case reported - Case ID: {}",
                     caseType, caseVertex.getCaseId());
         }
     }
 
-    private void executeQuerySafely(String query, String queryType) {
-        try {
-            graphDatabaseService.executeQuery(query);
-            log.info("{} query executed successfully", queryType);
-        } catch (Exception e) {
-            log.error("Error executing {} query: {}", queryType, e.getMessage());
+    private void generateSimilarCaseAlerts(CaseVertex caseVertex, List<SimilarCase> similarCases) {
+        if (similarCases == null || similarCases.isEmpty()) {
+            return;
+        }
+        SimilarCase best = similarCases.get(0);
+        if (best.getScore() >= similarCaseAlertScore) {
+            log.warn("SIMILAR CASE ALERT: case {} resembles case {} (score {})",
+                    caseVertex.getCaseId(), best.getCaseId(), String.format("%.2f", best.getScore()));
+        }
+    }
+
+    private void generateRepeatOffenderAlerts(CaseVertex caseVertex, List<RecurringPerson> recurringPersons) {
+        if (recurringPersons == null) {
+            return;
+        }
+        for (RecurringPerson recurringPerson : recurringPersons) {
+            if (recurringPerson.getRole() == PersonRole.SUSPECT) {
+                log.warn("REPEAT OFFENDER ALERT: suspect {} in case {} is linked to {} cases",
+                        recurringPerson.getPersonKey(), caseVertex.getCaseId(), recurringPerson.getCaseCount());
+            }
+        }
+    }
+
+    /**
+     * Numbers batches in the order they are built, which is the order their records were consumed
+     */
+    private static final class SequencedBatchStrategy extends GroupedExchangeAggregationStrategy {
+
+        private final AtomicLong sequence = new AtomicLong();
+
+        @Override
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            Exchange batch = super.aggregate(oldExchange, newExchange);
+            if (oldExchange == null) {
+                batch.setProperty(BATCH_SEQUENCE_PROPERTY, sequence.getAndIncrement());
+            }
+            return batch;
         }
     }
-}
\ No newline at end of file
+}
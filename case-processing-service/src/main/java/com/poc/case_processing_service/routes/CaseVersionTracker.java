@@ -0,0 +1,63 @@
+package com.poc.case_processing_service.routes;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.camel.Exchange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tells a retried case apart from a newer version of the same case. Every consumed record is numbered
+ * on the consumer thread with {@link #received}; updates of a case share a partition and so get
+ * increasing numbers. {@link #stored} remembers the highest number stored per case, and a retry whose
+ * number is lower than that is {@link #superseded}: writing it would overwrite the newer version.
+ *
+ * <p>The check runs just before the retry's write, so a newer version stored while the retried write
+ * is in flight can still lose to it. Entries only need to outlive the retry backoff and expire after
+ * {@code case-processing.retry.version-ttl-minutes}.
+ */
+@Component
+public class CaseVersionTracker {
+
+    static final String CASE_VERSION_PROPERTY = "caseVersion";
+
+    private final AtomicLong nextVersion = new AtomicLong();
+    private final Cache<String, Long> storedVersions;
+
+    public CaseVersionTracker(@Value("${case-processing.dedup.max-cases:100000}") long maxCases,
+                              @Value("${case-processing.retry.version-ttl-minutes:10}") long ttlMinutes) {
+        this.storedVersions = Caffeine.newBuilder()
+                .maximumSize(maxCases)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    public void received(Exchange exchange) {
+        exchange.setProperty(CASE_VERSION_PROPERTY, nextVersion.incrementAndGet());
+    }
+
+    /**
+     * Remember the version of this exchange as stored for the case, unless a newer one already is
+     */
+    public void stored(String caseId, Exchange exchange) {
+        Long version = exchange.getProperty(CASE_VERSION_PROPERTY, Long.class);
+        if (caseId != null && version != null) {
+            storedVersions.asMap().merge(caseId, version, Math::max);
+        }
+    }
+
+    /**
+     * True when a newer version of the case than the one on this exchange has been stored
+     */
+    public boolean superseded(String caseId, Exchange exchange) {
+        Long version = exchange.getProperty(CASE_VERSION_PROPERTY, Long.class);
+        if (caseId == null || version == null) {
+            return false;
+        }
+        Long stored = storedVersions.getIfPresent(caseId);
+        return stored != null && stored > version;
+    }
+}
@@ -0,0 +1,89 @@
+package com.poc.case_processing_service.routes;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.apache.camel.component.kafka.consumer.KafkaManualCommit;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Commits case-events offsets only up to the highest offset below which every record of the partition
+ * has been handled. A Kafka commit means "everything before this offset is done", so a record that
+ * finishes early (an async write, a batch, a retry handoff) must not commit past records that are still
+ * in flight. Records are registered on the consumer thread in offset order with {@link #received} and
+ * reported with {@link #handled} from whichever thread finishes them: stored, skipped as a replay, handed
+ * to a retry or dead-lettered.
+ *
+ * <p>A record that is never handled (a dead letter that could not be published) holds back commits for
+ * its partition, so it and everything after it are redelivered after a restart instead of being lost.
+ */
+@Component
+public class OffsetCommitTracker {
+
+    private final Map<Integer, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+
+    public void received(Exchange exchange) {
+        Integer partition = exchange.getIn().getHeader(KafkaConstants.PARTITION, Integer.class);
+        Long offset = exchange.getIn().getHeader(KafkaConstants.OFFSET, Long.class);
+        if (partition != null && offset != null && exchange.getIn().getHeader(KafkaConstants.MANUAL_COMMIT) != null) {
+            partitions.computeIfAbsent(partition, p -> new PartitionOffsets()).received(offset);
+        }
+    }
+
+    /**
+     * Mark the record of this exchange as done and commit as far as the partition allows. Exchanges
+     * without a manual commit header (retries, records another path already reported) are ignored.
+     */
+    public void handled(Exchange exchange) {
+        KafkaManualCommit manualCommit = exchange.getIn().getHeader(KafkaConstants.MANUAL_COMMIT, KafkaManualCommit.class);
+        if (manualCommit == null) {
+            return;
+        }
+        Integer partition = exchange.getIn().getHeader(KafkaConstants.PARTITION, Integer.class);
+        Long offset = exchange.getIn().getHeader(KafkaConstants.OFFSET, Long.class);
+        PartitionOffsets offsets = partition != null ? partitions.get(partition) : null;
+        if (offsets != null && offset != null) {
+            offsets.handled(offset, manualCommit);
+        }
+    }
+
+    private static final class PartitionOffsets {
+
+        /**
+         * Offsets received and not yet committed; the value is set once the record is handled
+         */
+        private final TreeMap<Long, KafkaManualCommit> pending = new TreeMap<>();
+        private long lastReceived = -1;
+
+        synchronized void received(long offset) {
+            if (offset <= lastReceived) {
+                // Seek back after a rebalance or a failed poll: these records are delivered again
+                pending.tailMap(offset, true).clear();
+            }
+            pending.put(offset, null);
+            lastReceived = offset;
+        }
+
+        /**
+         * Commits run under the lock, so commits of one partition are issued in offset order. The async
+         * commit factory only queues them for the consumer thread.
+         */
+        synchronized void handled(long offset, KafkaManualCommit manualCommit) {
+            if (!pending.containsKey(offset)) {
+                return; // already committed past it
+            }
+            pending.put(offset, manualCommit);
+
+            KafkaManualCommit highest = null;
+            while (!pending.isEmpty() && pending.firstEntry().getValue() != null) {
+                highest = pending.pollFirstEntry().getValue();
+            }
+            if (highest != null) {
+                highest.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.poc.case_processing_service.schema;
+
+import java.util.List;
+
+/**
+ * Every secondary index the service relies on, declared per collection and created idempotently
+ * at startup by {@link GraphSchema}. Edge collections need no entries for {@code _from}/{@code _to};
+ * their edge index covers both. Add an entry here whenever a new query filters or sorts on
+ * an attribute; {@link QueryPlanVerifier} reports registered queries that still scan a collection.
+ */
+public enum GraphIndex {
+
+    CASES_CASE_ID("cases", Type.PERSISTENT, "caseId"),
+    CASES_CASE_TYPE("cases", Type.HASH, "caseType"),
+    CASES_REPORTED_AT("cases", Type.PERSISTENT, "reportedAt"),
+
+    /**
+     * Optional retention: cases expire {@code graph.indexes.case-ttl-seconds} after reportedAt.
+     * Off unless that property is positive. TTL indexes read epoch seconds, hence reportedAtSeconds
+     * next to the epoch-millis reportedAt.
+     */
+    CASES_EXPIRY("cases", Type.TTL, "reportedAtSeconds"),
+
+    PERSONS_PERSON_ID("persons", Type.HASH, true, true, "personId"),
+    LOCATIONS_LOCATION_KEY("locations", Type.HASH, true, true, "locationKey"),
+    LOCATIONS_DISTRICT("locations", Type.HASH, false, true, "district");
+
+    /**
+     * ArangoDB only has persistent (RocksDB) indexes; HASH is a persistent index declared for
+     * equality lookups only, kept distinct so intent stays visible. TTL indexes expire documents.
+     */
+    public enum Type {
+        PERSISTENT, HASH, TTL
+    }
+
+    private final String collection;
+    private final Type type;
+    private final boolean unique;
+    private final boolean sparse;
+    private final List<String> fields;
+
+    GraphIndex(String collection, Type type, String... fields) {
+        this(collection, type, false, false, fields);
+    }
+
+    GraphIndex(String collection, Type type, boolean unique, boolean sparse, String... fields) {
+        this.collection = collection;
+        this.type = type;
+        this.unique = unique;
+        this.sparse = sparse;
+        this.fields = List.of(fields);
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isUnique() {
+        return unique;
+    }
+
+    public boolean isSparse() {
+        return sparse;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Index name in ArangoDB, e.g. {@code idx_cases_case_id}. Names are what makes creation idempotent.
+     */
+    public String indexName() {
+        return "idx_" + name().toLowerCase();
+    }
+}
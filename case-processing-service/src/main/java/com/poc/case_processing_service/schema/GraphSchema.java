@@ -0,0 +1,308 @@
+package com.poc.case_processing_service.schema;
+
+import com.arangodb.ArangoCollection;
+import com.arangodb.ArangoCursor;
+import com.arangodb.ArangoDatabase;
+import com.arangodb.ArangoGraph;
+import com.arangodb.entity.CollectionType;
+import com.arangodb.entity.EdgeDefinition;
+import com.arangodb.entity.IndexEntity;
+import com.arangodb.model.CollectionCreateOptions;
+import com.arangodb.model.PersistentIndexOptions;
+import com.arangodb.model.TtlIndexOptions;
+import com.poc.case_ingestion_service.model.CaseStatus;
+import com.poc.case_ingestion_service.model.CaseType;
+import com.poc.case_ingestion_service.model.CodedEnum;
+import com.poc.case_ingestion_service.model.EvidenceType;
+import com.poc.case_ingestion_service.model.PersonRole;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Startup schema step: vertex collections, edge collections (with their built-in {@code _from}/{@code _to}
+ * edge index), the {@value #GRAPH_NAME} named graph over all of them and the declared {@link GraphIndex}es.
+ * Every step is idempotent.
+ *
+ * <p>Older deployments created the relationship collections as document collections. Those are
+ * migrated in place: edges are copied into a new edge collection (keeping {@code _key}, {@code _from},
+ * {@code _to} and attributes), the old collection is dropped and the new one renamed. A migration
+ * interrupted between drop and rename is completed on the next start.
+ *
+ * <p>Documents written before enums were stored as codes and times as epoch millis are converted in
+ * place: caseType, status, role and evidence type from names to {@link CodedEnum} codes, reportedAt
+ * and collectedAt from {@code LocalDateTime} strings (read in the service's zone) to epoch millis.
+ * Each update only matches documents that still hold strings, so it is a no-op once done, at the
+ * cost of one scan of cases, evidence and case_person per start.
+ *
+ * <p>Persons used to be inserted once per case, so older databases hold several persons with the same
+ * personId and the unique {@link GraphIndex#PERSONS_PERSON_ID} index could not be created. Until that
+ * index exists, duplicates are merged into the person with the lowest key: their case_person edges
+ * are rewritten to it (under the derived edge key, so a case linked to several copies keeps one edge),
+ * person_location edges are repointed, and the duplicates are removed.
+ */
+@Slf4j
+public class GraphSchema {
+
+    public static final String GRAPH_NAME = "case_graph";
+
+    private static final String MIGRATION_SUFFIX = "_migrating";
+
+    private static final List<String> VERTEX_COLLECTIONS = List.of("cases", "persons", "locations", "evidence");
+
+    private static final List<EdgeDefinition> EDGE_DEFINITIONS = List.of(
+            new EdgeDefinition().collection("case_person").from("cases").to("persons"),
+            new EdgeDefinition().collection("case_location").from("cases").to("locations"),
+            new EdgeDefinition().collection("case_evidence").from("cases").to("evidence"),
+            new EdgeDefinition().collection("person_location").from("persons").to("locations"));
+
+    private static final String COPY_EDGES =
+            "FOR doc IN @@source FILTER doc._from != null AND doc._to != null " +
+                    "INSERT UNSET(doc, '_id', '_rev') INTO @@target";
+
+    // Names are matched as UPPER(TRIM(name)). A value that still does not match, or a date that does not
+    // parse, is copied to a legacy* attribute before the field is replaced, so nothing is lost.
+    private static final String COMPACT_CASES =
+            "FOR c IN cases FILTER IS_STRING(c.caseType) OR IS_STRING(c.status) OR IS_STRING(c.reportedAt) " +
+                    "LET caseType = IS_STRING(c.caseType) ? @caseTypes[UPPER(TRIM(c.caseType))] : c.caseType " +
+                    "LET status = IS_STRING(c.status) ? @statuses[UPPER(TRIM(c.status))] : c.status " +
+                    "LET reportedAt = IS_STRING(c.reportedAt) ? DATE_TIMESTAMP(DATE_LOCALTOUTC(c.reportedAt, @timezone)) : c.reportedAt " +
+                    "UPDATE c WITH { " +
+                    "caseType: caseType != null || c.caseType == null ? caseType : @otherCaseType, " +
+                    "legacyCaseType: IS_STRING(c.caseType) && caseType == null ? c.caseType : c.legacyCaseType, " +
+                    "status: status, " +
+                    "legacyStatus: IS_STRING(c.status) && status == null ? c.status : c.legacyStatus, " +
+                    "reportedAt: reportedAt, " +
+                    "reportedAtSeconds: reportedAt != null ? FLOOR(reportedAt / 1000) : null, " +
+                    "legacyReportedAt: IS_STRING(c.reportedAt) && reportedAt == null ? c.reportedAt : c.legacyReportedAt " +
+                    "} IN cases OPTIONS { keepNull: false }";
+
+    private static final String COMPACT_EVIDENCE =
+            "FOR e IN evidence FILTER IS_STRING(e.type) OR IS_STRING(e.collectedAt) " +
+                    "LET type = IS_STRING(e.type) ? @evidenceTypes[UPPER(TRIM(e.type))] : e.type " +
+                    "LET collectedAt = IS_STRING(e.collectedAt) ? DATE_TIMESTAMP(DATE_LOCALTOUTC(e.collectedAt, @timezone)) : e.collectedAt " +
+                    "UPDATE e WITH { " +
+                    "type: type, " +
+                    "legacyType: IS_STRING(e.type) && type == null ? e.type : e.legacyType, " +
+                    "collectedAt: collectedAt, " +
+                    "legacyCollectedAt: IS_STRING(e.collectedAt) && collectedAt == null ? e.collectedAt : e.legacyCollectedAt " +
+                    "} IN evidence OPTIONS { keepNull: false }";
+
+    private static final String COMPACT_ROLES =
+            "FOR edge IN case_person FILTER IS_STRING(edge.role) " +
+                    "LET role = @roles[UPPER(TRIM(edge.role))] " +
+                    "UPDATE edge WITH { role: role, legacyRole: role == null ? edge.role : edge.legacyRole } " +
+                    "IN case_person OPTIONS { keepNull: false }";
+
+    private static final String DUPLICATE_PERSONS =
+            "FOR p IN persons FILTER p.personId != null " +
+                    "COLLECT personId = p.personId INTO group = p._key " +
+                    "FILTER LENGTH(group) > 1 " +
+                    "LET keys = SORTED(group) " +
+                    "RETURN { keep: FIRST(keys), duplicates: SLICE(keys, 1) }";
+
+    private static final String RELINK_CASE_PERSON =
+            "FOR group IN @groups FOR duplicate IN group.duplicates " +
+                    "FOR edge IN case_person FILTER edge._to == CONCAT('persons/', duplicate) " +
+                    "INSERT MERGE(UNSET(edge, '_id', '_key', '_rev'), { " +
+                    "_key: MD5(CONCAT(PARSE_IDENTIFIER(edge._from).key, '>', group.keep)), " +
+                    "_to: CONCAT('persons/', group.keep) }) " +
+                    "INTO case_person OPTIONS { overwriteMode: 'replace' }";
+
+    private static final String REMOVE_DUPLICATE_CASE_PERSON =
+            "FOR group IN @groups FOR duplicate IN group.duplicates " +
+                    "FOR edge IN case_person FILTER edge._to == CONCAT('persons/', duplicate) " +
+                    "REMOVE edge IN case_person";
+
+    private static final String RELINK_PERSON_LOCATION =
+            "FOR group IN @groups FOR duplicate IN group.duplicates " +
+                    "FOR edge IN person_location FILTER edge._from == CONCAT('persons/', duplicate) " +
+                    "UPDATE edge WITH { _from: CONCAT('persons/', group.keep) } IN person_location";
+
+    private static final String REMOVE_DUPLICATE_PERSONS =
+            "FOR group IN @groups FOR duplicate IN group.duplicates " +
+                    "REMOVE duplicate IN persons OPTIONS { ignoreErrors: true }";
+
+    private final ArangoDatabase db;
+    private final int caseTtlSeconds;
+
+    public GraphSchema(ArangoDatabase db, int caseTtlSeconds) {
+        this.db = db;
+        this.caseTtlSeconds = caseTtlSeconds;
+    }
+
+    public void apply() {
+        for (String name : VERTEX_COLLECTIONS) {
+            if (!db.collection(name).exists()) {
+                db.createCollection(name);
+                log.info("Created collection: {}", name);
+            }
+        }
+        for (EdgeDefinition definition : EDGE_DEFINITIONS) {
+            ensureEdgeCollection(definition.getCollection());
+        }
+        ensureGraph();
+        migrateToCompactFields();
+        mergeDuplicatePersons();
+        ensureIndexes();
+    }
+
+    private void ensureEdgeCollection(String name) {
+        ArangoCollection collection = db.collection(name);
+        ArangoCollection migrating = db.collection(name + MIGRATION_SUFFIX);
+
+        if (!collection.exists()) {
+            if (migrating.exists()) {
+                migrating.rename(name);
+                log.info("Completed interrupted migration of {} to an edge collection", name);
+            } else {
+                db.createCollection(name, new CollectionCreateOptions().type(CollectionType.EDGES));
+                log.info("Created edge collection: {}", name);
+            }
+            return;
+        }
+
+        if (collection.getInfo().getType() != CollectionType.EDGES) {
+            migrateToEdgeCollection(collection, migrating);
+        }
+    }
+
+    private void migrateToEdgeCollection(ArangoCollection source, ArangoCollection target) {
+        String name = source.name();
+        long documents = source.count().getCount();
+        log.warn("Collection {} is a document collection, migrating {} documents to an edge collection", name, documents);
+
+        if (target.exists()) {
+            target.drop(); // leftover from a migration that failed while copying
+        }
+        db.createCollection(target.name(), new CollectionCreateOptions().type(CollectionType.EDGES));
+        db.query(COPY_EDGES, Void.class, Map.of("@source", name, "@target", target.name()));
+
+        long copied = target.count().getCount();
+        if (copied < documents) {
+            log.warn("Skipped {} documents in {} without _from/_to", documents - copied, name);
+        }
+
+        source.drop();
+        target.rename(name);
+        log.info("Migrated {} to an edge collection ({} edges)", name, copied);
+    }
+
+    private void ensureGraph() {
+        ArangoGraph graph = db.graph(GRAPH_NAME);
+        if (!graph.exists()) {
+            db.createGraph(GRAPH_NAME, EDGE_DEFINITIONS);
+            log.info("Created named graph: {}", GRAPH_NAME);
+            return;
+        }
+
+        Collection<String> existing = new ArrayList<>(graph.getEdgeDefinitions());
+        for (EdgeDefinition definition : EDGE_DEFINITIONS) {
+            if (!existing.contains(definition.getCollection())) {
+                graph.addEdgeDefinition(definition);
+                log.info("Added edge definition {} to graph {}", definition.getCollection(), GRAPH_NAME);
+            }
+        }
+    }
+
+    private void migrateToCompactFields() {
+        String timezone = ZoneId.systemDefault().getId();
+        long cases = updated(db.query(COMPACT_CASES, Void.class, Map.of(
+                "caseTypes", codes(CaseType.values()),
+                "otherCaseType", CaseType.OTHER.code(),
+                "statuses", codes(CaseStatus.values()),
+                "timezone", timezone)));
+        long evidence = updated(db.query(COMPACT_EVIDENCE, Void.class, Map.of(
+                "evidenceTypes", codes(EvidenceType.values()),
+                "timezone", timezone)));
+        long roles = updated(db.query(COMPACT_ROLES, Void.class, Map.of(
+                "roles", codes(PersonRole.values()))));
+        if (cases + evidence + roles > 0) {
+            log.info("Converted {} cases, {} evidence and {} case_person edges to coded enums and epoch millis;"
+                    + " values that did not convert are kept in legacy* attributes", cases, evidence, roles);
+        }
+
+        // The expiry index moved from reportedAt to reportedAtSeconds under the same name
+        ArangoCollection casesCollection = db.collection(GraphIndex.CASES_EXPIRY.getCollection());
+        for (IndexEntity index : casesCollection.getIndexes()) {
+            if (GraphIndex.CASES_EXPIRY.indexName().equals(index.getName())
+                    && !GraphIndex.CASES_EXPIRY.getFields().equals(new ArrayList<>(index.getFields()))) {
+                casesCollection.deleteIndex(index.getId());
+                log.info("Dropped expiry index on {}, recreating it on {}", index.getFields(),
+                        GraphIndex.CASES_EXPIRY.getFields());
+            }
+        }
+    }
+
+    private void mergeDuplicatePersons() {
+        ArangoCollection persons = db.collection(GraphIndex.PERSONS_PERSON_ID.getCollection());
+        if (hasIndex(persons, GraphIndex.PERSONS_PERSON_ID)) {
+            return;
+        }
+
+        List<Map> groups = db.query(DUPLICATE_PERSONS, Map.class).asListRemaining();
+        if (groups.isEmpty()) {
+            return;
+        }
+        long duplicates = groups.stream().mapToLong(group -> ((List<?>) group.get("duplicates")).size()).sum();
+        log.warn("Merging {} duplicate persons into {} persons before creating the unique personId index",
+                duplicates, groups.size());
+
+        Map<String, Object> bindVars = Map.of("groups", groups);
+        db.query(RELINK_CASE_PERSON, Void.class, bindVars);
+        db.query(REMOVE_DUPLICATE_CASE_PERSON, Void.class, bindVars);
+        db.query(RELINK_PERSON_LOCATION, Void.class, bindVars);
+        db.query(REMOVE_DUPLICATE_PERSONS, Void.class, bindVars);
+        log.info("Merged duplicate persons");
+    }
+
+    private static boolean hasIndex(ArangoCollection collection, GraphIndex index) {
+        for (IndexEntity existing : collection.getIndexes()) {
+            if (index.indexName().equals(existing.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <E extends Enum<E> & CodedEnum> Map<String, Integer> codes(E[] values) {
+        return Arrays.stream(values).collect(Collectors.toMap(Enum::name, CodedEnum::code));
+    }
+
+    private static long updated(ArangoCursor<Void> cursor) {
+        Long writes = cursor.getStats() != null ? cursor.getStats().getWritesExecuted() : null;
+        return writes != null ? writes : 0;
+    }
+
+    /**
+     * Create every declared {@link GraphIndex}. ensure* calls return the existing index when an
+     * identical one is already there, so this is safe on every startup.
+     */
+    private void ensureIndexes() {
+        for (GraphIndex index : GraphIndex.values()) {
+            ArangoCollection collection = db.collection(index.getCollection());
+            switch (index.getType()) {
+                case PERSISTENT:
+                case HASH:
+                    collection.ensurePersistentIndex(index.getFields(), new PersistentIndexOptions()
+                            .name(index.indexName())
+                            .unique(index.isUnique())
+                            .sparse(index.isSparse()));
+                    break;
+                case TTL:
+                    if (caseTtlSeconds > 0) {
+                        collection.ensureTtlIndex(index.getFields(), new TtlIndexOptions()
+                                .name(index.indexName())
+                                .expireAfter(caseTtlSeconds));
+                    }
+                    break;
+            }
+        }
+    }
+}
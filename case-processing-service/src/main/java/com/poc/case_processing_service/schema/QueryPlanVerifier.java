@@ -0,0 +1,108 @@
+package com.poc.case_processing_service.schema;
+
+import com.arangodb.ArangoDatabase;
+import com.arangodb.entity.AqlExecutionExplainEntity;
+import com.arangodb.model.AqlQueryExplainOptions;
+import com.poc.case_processing_service.query.GraphQuery;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs EXPLAIN on every registered {@link GraphQuery} at startup and reports plans that still
+ * enumerate a whole collection ({@code EnumerateCollectionNode}), which means an index from
+ * {@link GraphIndex} is missing or not usable. {@code graph.plan-check.mode}: {@code warn} logs
+ * the offending queries, {@code fail} aborts startup, {@code off} skips the check.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryPlanVerifier {
+
+    private static final String FULL_SCAN_NODE = "EnumerateCollectionNode";
+
+    // Bind variables that the queries iterate over; EXPLAIN needs an array there, not a scalar
+    private static final Set<String> LIST_BIND_VARS = Set.of(
+            "persons", "locations", "newPersons", "knownPersons", "newLocations", "knownLocations", "evidence");
+
+    private final ArangoDatabase arangoDatabase;
+
+    @Value("${graph.plan-check.mode:warn}")
+    private String mode;
+
+    @PostConstruct
+    void verifyQueryPlans() {
+        String checkMode = mode.toLowerCase(Locale.ROOT);
+        if ("off".equals(checkMode)) {
+            return;
+        }
+
+        List<String> problems = new ArrayList<>();
+        for (GraphQuery query : GraphQuery.values()) {
+            if (query.scansByDesign()) {
+                continue;
+            }
+            try {
+                List<String> scanned = scannedCollections(query);
+                if (!scanned.isEmpty()) {
+                    problems.add(query.name() + " scans " + scanned);
+                }
+            } catch (Exception e) {
+                problems.add(query.name() + " could not be explained: " + e.getMessage());
+            }
+        }
+
+        if (problems.isEmpty()) {
+            log.info("Query plan check passed for all index-backed queries");
+            return;
+        }
+        problems.forEach(problem -> log.warn("Query plan check: {}", problem));
+        if ("fail".equals(checkMode)) {
+            throw new IllegalStateException("Query plan check failed: " + String.join("; ", problems));
+        }
+    }
+
+    /**
+     * Collections the plan of {@code query} enumerates in full. Since ArangoDB 3.8 subqueries are spliced
+     * into the main plan (between SubqueryStartNode and SubqueryEndNode), so the top-level node list covers them.
+     */
+    List<String> scannedCollections(GraphQuery query) {
+        AqlExecutionExplainEntity explain = arangoDatabase.explainQuery(
+                query.getAql(), sampleBindVars(query), new AqlQueryExplainOptions());
+
+        List<String> scanned = new ArrayList<>();
+        Collection<AqlExecutionExplainEntity.ExecutionNode> nodes = explain.getPlan().getNodes();
+        if (nodes != null) {
+            for (AqlExecutionExplainEntity.ExecutionNode node : nodes) {
+                if (FULL_SCAN_NODE.equals(node.getType())) {
+                    scanned.add(node.getCollection());
+                }
+            }
+        }
+        return scanned;
+    }
+
+    private Map<String, Object> sampleBindVars(GraphQuery query) {
+        Map<String, Object> bindVars = new HashMap<>();
+        for (String name : query.getBindVars()) {
+            if (LIST_BIND_VARS.contains(name)) {
+                bindVars.put(name, List.of(Map.of()));
+            } else if ("case".equals(name)) {
+                bindVars.put(name, Map.of());
+            } else {
+                bindVars.put(name, "explain");
+            }
+        }
+        return bindVars;
+    }
+}
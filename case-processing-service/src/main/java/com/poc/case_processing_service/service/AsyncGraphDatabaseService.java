@@ -0,0 +1,292 @@
+package com.poc.case_processing_service.service;
+
+import com.arangodb.ArangoDatabaseAsync;
+import com.arangodb.entity.BaseEdgeDocument;
+import com.arangodb.entity.DocumentCreateEntity;
+import com.arangodb.model.DocumentCreateOptions;
+import com.arangodb.model.OverwriteMode;
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.Evidence;
+import com.poc.case_ingestion_service.model.Person;
+import com.poc.case_processing_service.event.CasePersonEdgesCreatedEvent;
+import com.poc.case_processing_service.exception.GraphDatabaseException;
+import com.poc.case_processing_service.mapper.CaseGraphMapper;
+import com.poc.case_processing_service.metrics.GraphMetrics;
+import com.poc.case_processing_service.model.CaseGraphResult;
+import com.poc.case_processing_service.model.CaseVertex;
+import com.poc.case_processing_service.model.EvidenceVertex;
+import com.poc.case_processing_service.model.LocationVertex;
+import com.poc.case_processing_service.model.PersonVertex;
+import com.poc.case_processing_service.query.GraphQuery;
+import com.poc.case_processing_service.schema.GraphSchema;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking counterpart of {@link GraphDatabaseService#saveCaseGraph(CaseReport)} on the async driver.
+ * All vertex writes of a case go out at once and each edge is inserted as soon as both of its
+ * endpoint keys are known, so a case costs roughly two round trips of latency instead of one per document.
+ *
+ * <p>At most {@code graph.async.max-in-flight} cases are written concurrently. Callers asking for
+ * more wait up to {@code graph.async.acquire-timeout-ms} for a slot, which slows the Kafka consumer
+ * down instead of queueing unbounded work, and get a {@link GraphDatabaseException} after that.
+ *
+ * <p>Returned futures complete on a small completion pool, never on the driver's I/O threads,
+ * so callers may block or do CPU work in their callbacks.
+ *
+ * <p>Writes are timed in {@link GraphMetrics} like the synchronous ones: each document insert and
+ * upsert once its future completes, and the whole case as {@code save_async}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncGraphDatabaseService {
+
+    private final ArangoDatabaseAsync arangoDatabaseAsync;
+    private final CaseGraphMapper caseGraphMapper;
+    private final EntityKeyCache entityKeyCache;
+    private final MeterRegistry meterRegistry;
+    private final GraphMetrics graphMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${graph.async.max-in-flight:256}")
+    private int maxInFlight;
+
+    @Value("${graph.async.acquire-timeout-ms:5000}")
+    private long acquireTimeoutMs;
+
+    @Value("${graph.async.completion-threads:4}")
+    private int completionThreads;
+
+    private Semaphore inFlightPermits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private ExecutorService completionExecutor;
+
+    @PostConstruct
+    void init() {
+        inFlightPermits = new Semaphore(maxInFlight);
+        AtomicInteger threadCount = new AtomicInteger();
+        completionExecutor = Executors.newFixedThreadPool(completionThreads, runnable -> {
+            Thread thread = new Thread(runnable, "graph-async-completion-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("graph.async.in-flight", inFlight, AtomicInteger::get)
+                .description("Case graph writes currently in flight")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        completionExecutor.shutdown();
+    }
+
+    /**
+     * Store a case report without blocking the caller beyond waiting for an in-flight slot
+     */
+    public CompletableFuture<CaseGraphResult> saveCaseGraph(CaseReport caseReport) {
+        if (caseReport == null) {
+            throw new IllegalArgumentException("CaseReport cannot be null");
+        }
+
+        acquirePermit(caseReport);
+        inFlight.incrementAndGet();
+
+        CompletableFuture<CaseGraphResult> write;
+        try {
+            write = graphMetrics.recordAsync("save_async", GraphSchema.GRAPH_NAME, () -> writeCaseGraph(caseReport));
+        } catch (Exception e) {
+            write = CompletableFuture.failedFuture(e);
+        }
+
+        return write
+                .whenComplete((result, error) -> {
+                    inFlight.decrementAndGet();
+                    inFlightPermits.release();
+                })
+                .handleAsync((result, error) -> {
+                    if (error != null) {
+                        log.error("Error saving case graph asynchronously: {}", error.getMessage());
+                        throw new GraphDatabaseException("Failed to save case graph", unwrap(error));
+                    }
+                    publishCasePersonEdges(result);
+                    log.info("Case graph saved asynchronously with case key: {}", result.getCaseKey());
+                    return result;
+                }, completionExecutor);
+    }
+
+    private void acquirePermit(CaseReport caseReport) {
+        try {
+            if (!inFlightPermits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new GraphDatabaseException("Too many case graph writes in flight, rejected case " + caseReport.getCaseId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GraphDatabaseException("Interrupted waiting for an in-flight slot", e);
+        }
+    }
+
+    private CompletableFuture<CaseGraphResult> writeCaseGraph(CaseReport caseReport) {
+        CaseVertex caseVertex = caseGraphMapper.createCaseVertex(caseReport);
+        CompletableFuture<String> caseKey = insert("cases", caseVertex);
+        List<CompletableFuture<?>> edges = new ArrayList<>();
+
+        List<CompletableFuture<String>> personKeys = new ArrayList<>();
+        if (caseReport.getInvolvedPersons() != null) {
+            for (int i = 0; i < caseReport.getInvolvedPersons().size(); i++) {
+                Person person = caseReport.getInvolvedPersons().get(i);
+                CompletableFuture<String> personKey = resolvePersonKey(person,
+                        CaseGraphMapper.ownedKey(caseVertex.getKey(), "persons", "#" + i));
+                personKeys.add(personKey);
+                edges.add(insertEdge("case_person", caseKey, "persons/", personKey, edge -> {
+                    edge.addAttribute("role", CaseGraphMapper.roleCode(person.getRole()));
+                    edge.addAttribute("relationshipType", "INVOLVED_IN");
+                }));
+            }
+        }
+
+        CompletableFuture<String> locationKey = CompletableFuture.completedFuture(null);
+        if (caseReport.getLocation() != null) {
+            locationKey = resolveLocationKey(caseGraphMapper.createLocationVertex(caseReport.getLocation()),
+                    CaseGraphMapper.ownedKey(caseVertex.getKey(), "locations", "#0"));
+            edges.add(insertEdge("case_location", caseKey, "locations/", locationKey,
+                    edge -> edge.addAttribute("relationshipType", "OCCURRED_AT")));
+        }
+
+        List<CompletableFuture<String>> evidenceKeys = new ArrayList<>();
+        if (caseReport.getEvidence() != null) {
+            for (int i = 0; i < caseReport.getEvidence().size(); i++) {
+                Evidence evidence = caseReport.getEvidence().get(i);
+                EvidenceVertex evidenceVertex = caseGraphMapper.createEvidenceVertex(evidence);
+                evidenceVertex.setKey(CaseGraphMapper.ownedKey(caseVertex.getKey(), "evidence",
+                        evidence.getEvidenceId() != null ? evidence.getEvidenceId() : "#" + i));
+                CompletableFuture<String> evidenceKey = insert("evidence", evidenceVertex);
+                evidenceKeys.add(evidenceKey);
+                edges.add(insertEdge("case_evidence", caseKey, "evidence/", evidenceKey,
+                        edge -> edge.addAttribute("relationshipType", "HAS_EVIDENCE")));
+            }
+        }
+
+        CompletableFuture<String> storedLocationKey = locationKey;
+        return CompletableFuture.allOf(edges.toArray(new CompletableFuture[0]))
+                .thenCombine(caseKey, (ignored, key) -> {
+                    caseVertex.setKey(key);
+                    CaseGraphResult result = new CaseGraphResult();
+                    result.setCaseKey(key);
+                    personKeys.forEach(personKey -> result.getPersonKeys().add(personKey.join()));
+                    result.setLocationKey(storedLocationKey.join());
+                    evidenceKeys.forEach(evidenceKey -> result.getEvidenceKeys().add(evidenceKey.join()));
+                    result.setEdgeCount(edges.size());
+                    result.setCaseVertex(caseVertex);
+                    result.setCaseReport(caseReport);
+                    return result;
+                });
+    }
+
+    /**
+     * Key of the person with this personId; a person without one is written under {@code ownedKey}
+     */
+    private CompletableFuture<String> resolvePersonKey(Person person, String ownedKey) {
+        PersonVertex personVertex = caseGraphMapper.createPersonVertex(person);
+        if (person.getPersonId() == null) {
+            personVertex.setKey(ownedKey);
+            return insert("persons", personVertex);
+        }
+
+        String cached = entityKeyCache.getPersonKey(person.getPersonId());
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return upsert(GraphQuery.UPSERT_PERSONS, "persons", personVertex)
+                .thenApply(key -> {
+                    entityKeyCache.putPersonKey(person.getPersonId(), key);
+                    return key;
+                });
+    }
+
+    private CompletableFuture<String> resolveLocationKey(LocationVertex locationVertex, String ownedKey) {
+        if (locationVertex.getLocationKey() == null) {
+            locationVertex.setKey(ownedKey);
+            return insert("locations", locationVertex);
+        }
+
+        String cached = entityKeyCache.getLocationKey(locationVertex.getLocationKey());
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return upsert(GraphQuery.UPSERT_LOCATIONS, "locations", locationVertex)
+                .thenApply(key -> {
+                    entityKeyCache.putLocationKey(locationVertex.getLocationKey(), key);
+                    return key;
+                });
+    }
+
+    /**
+     * Insert a document; one with a derived key replaces its previous version
+     */
+    private CompletableFuture<String> insert(String collectionName, Object document) {
+        return graphMetrics.recordAsync("insert", collectionName, () -> arangoDatabaseAsync.collection(collectionName)
+                .insertDocument(document, new DocumentCreateOptions().overwriteMode(OverwriteMode.replace))
+                .thenApply(DocumentCreateEntity::getKey));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private CompletableFuture<String> upsert(GraphQuery query, String bindVar, Object vertex) {
+        return graphMetrics.recordAsync("upsert", bindVar, () -> arangoDatabaseAsync
+                .query(query.getAql(), Map.class, Map.of(bindVar, List.of(vertex)))
+                .thenApply(cursor -> {
+                    List<Map> rows = cursor.getResult();
+                    if (rows.isEmpty()) {
+                        throw new GraphDatabaseException("Upsert into " + bindVar + " returned no key");
+                    }
+                    return (String) rows.get(0).get("key");
+                }));
+    }
+
+    /**
+     * Insert an edge from the case once both the case key and the target key are known
+     */
+    private CompletableFuture<String> insertEdge(String collectionName, CompletableFuture<String> caseKey,
+                                                 String targetCollection, CompletableFuture<String> targetKey,
+                                                 Consumer<BaseEdgeDocument> attributes) {
+        return caseKey
+                .thenCombine(targetKey, (from, to) -> {
+                    BaseEdgeDocument edge = new BaseEdgeDocument(
+                            CaseGraphMapper.edgeKey(from, to), "cases/" + from, targetCollection + to);
+                    attributes.accept(edge);
+                    return edge;
+                })
+                .thenCompose(edge -> insert(collectionName, edge));
+    }
+
+    private void publishCasePersonEdges(CaseGraphResult result) {
+        if (!result.getPersonKeys().isEmpty()) {
+            eventPublisher.publishEvent(new CasePersonEdgesCreatedEvent(result.getCaseKey(), result.getPersonKeys()));
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+    }
+}
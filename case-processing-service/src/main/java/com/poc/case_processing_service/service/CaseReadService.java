@@ -0,0 +1,81 @@
+package com.poc.case_processing_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_processing_service.mapper.CaseGraphMapper;
+import com.poc.case_processing_service.model.CaseGraphDocument;
+import com.poc.case_processing_service.query.GraphQuery;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Case lookups by caseId, served from a bounded TTL cache in front of the {@code CASE_BY_ID} query.
+ * Entries are invalidated when this instance stores a new version of the case; the TTL bounds how
+ * long other instances can serve a stale copy. Cache hits and misses are exported as {@code cache.*}
+ * metrics tagged {@code cache=cases}, database loads as the {@code case.read.load} timer.
+ */
+@Slf4j
+@Service
+public class CaseReadService {
+
+    private final GraphDatabaseService graphDatabaseService;
+    private final CaseGraphMapper caseGraphMapper;
+    private final Cache<String, CaseReport> cases;
+    private final Timer loadTimer;
+
+    public CaseReadService(GraphDatabaseService graphDatabaseService,
+                           CaseGraphMapper caseGraphMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${case-read.cache.max-size:10000}") long maxSize,
+                           @Value("${case-read.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.graphDatabaseService = graphDatabaseService;
+        this.caseGraphMapper = caseGraphMapper;
+        this.cases = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.loadTimer = Timer.builder("case.read.load")
+                .description("Time to assemble a case from the graph on a cache miss")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cases, "cases");
+    }
+
+    public Optional<CaseReport> getCase(String caseId) {
+        if (caseId == null || caseId.isBlank()) {
+            throw new IllegalArgumentException("Case ID cannot be empty");
+        }
+        // Misses are not cached, so a case becomes visible as soon as it is stored
+        return Optional.ofNullable(cases.get(caseId, this::loadCase));
+    }
+
+    public void invalidate(String caseId) {
+        if (caseId != null) {
+            cases.invalidate(caseId);
+        }
+    }
+
+    private CaseReport loadCase(String caseId) {
+        return loadTimer.record(() -> {
+            List<CaseGraphDocument> documents = graphDatabaseService.executeQuery(
+                    GraphQuery.CASE_BY_ID, Map.of("caseId", caseId), CaseGraphDocument.class);
+            if (documents.isEmpty()) {
+                log.debug("Case {} not found in graph", caseId);
+                return null;
+            }
+            return caseGraphMapper.toCaseReport(documents.get(0));
+        });
+    }
+}
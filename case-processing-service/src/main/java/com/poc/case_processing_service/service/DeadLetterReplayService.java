@@ -0,0 +1,142 @@
+package com.poc.case_processing_service.service;
+
+import com.poc.case_processing_service.model.DeadLetterReplayResult;
+import com.poc.case_processing_service.routes.CaseFailureRoute;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Future;
+
+/**
+ * Moves dead letters back onto case-events once the cause has been fixed. Records are read from
+ * {@value CaseFailureRoute#DLQ_TOPIC} by their own consumer group, republished with their original key
+ * and format header (the {@code dlq*} error headers are dropped) and the DLQ offsets are committed only
+ * after every republished record is acknowledged. A case that fails again goes back to the DLQ through
+ * the normal failure pipeline.
+ */
+@Slf4j
+@Service
+public class DeadLetterReplayService {
+
+    private static final String SOURCE_TOPIC = "case-events";
+    private static final String GROUP_ID = "case-processing-dlq-replay";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private final String brokers;
+    private final int maxBatch;
+    private final Counter replayedCounter;
+
+    public DeadLetterReplayService(MeterRegistry meterRegistry,
+                                   @Value("${case-processing.kafka.brokers:pkc-l7pr2.ap-south-1.aws.confluent.cloud:9092}") String brokers,
+                                   @Value("${case-processing.dlq.replay.max-batch:5000}") int maxBatch) {
+        this.brokers = brokers;
+        this.maxBatch = maxBatch;
+        this.replayedCounter = Counter.builder("case.dlq.replayed")
+                .description("Dead-lettered case records republished to case-events")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replay up to {@code max} dead letters (capped by {@code case-processing.dlq.replay.max-batch}).
+     * Replays are serialized: the consumer group has a single member at a time.
+     */
+    public synchronized DeadLetterReplayResult replay(int max) {
+        int limit = Math.min(max, maxBatch);
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        List<Future<RecordMetadata>> sends = new ArrayList<>();
+
+        try (KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(consumerProperties(limit));
+             KafkaProducer<String, byte[]> producer = new KafkaProducer<>(producerProperties())) {
+            consumer.subscribe(List.of(CaseFailureRoute.DLQ_TOPIC));
+
+            while (sends.size() < limit) {
+                List<ConsumerRecord<String, byte[]>> polled = new ArrayList<>();
+                consumer.poll(POLL_TIMEOUT).forEach(polled::add);
+                if (polled.isEmpty()) {
+                    break;
+                }
+                for (ConsumerRecord<String, byte[]> record : polled) {
+                    if (sends.size() == limit) {
+                        break;
+                    }
+                    sends.add(producer.send(toCaseEvent(record)));
+                    offsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                }
+            }
+
+            producer.flush();
+            for (Future<RecordMetadata> send : sends) {
+                send.get();
+            }
+            if (!offsets.isEmpty()) {
+                consumer.commitSync(offsets);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dead letter replay interrupted", e);
+        } catch (Exception e) {
+            // Nothing is committed, so the whole batch is replayed again on the next call
+            log.error("Dead letter replay failed after {} records: {}", sends.size(), e.getMessage(), e);
+            throw new IllegalStateException("Dead letter replay failed: " + e.getMessage(), e);
+        }
+
+        replayedCounter.increment(sends.size());
+        log.info("Replayed {} dead-lettered cases to {}", sends.size(), SOURCE_TOPIC);
+        return new DeadLetterReplayResult(sends.size(), sends.size() == limit);
+    }
+
+    private static ProducerRecord<String, byte[]> toCaseEvent(ConsumerRecord<String, byte[]> record) {
+        ProducerRecord<String, byte[]> event = new ProducerRecord<>(SOURCE_TOPIC, record.key(), record.value());
+        for (Header header : record.headers()) {
+            if (!header.key().startsWith("dlq")) {
+                event.headers().add(header);
+            }
+        }
+        return event;
+    }
+
+    private Properties consumerProperties(int limit) {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, brokers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, GROUP_ID);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.min(limit, 500));
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        return props;
+    }
+
+    private Properties producerProperties() {
+        Properties props = new Properties();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, brokers);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        return props;
+    }
+}
@@ -0,0 +1,63 @@
+package com.poc.case_processing_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded caches from business ids (personId, normalized location key) to ArangoDB document
+ * keys, so entities that appear in many cases resolve without a database round trip.
+ * Entries are evicted by business id, which deletes read from the removed document.
+ * Hit rates are exported as {@code cache.*} metrics tagged {@code cache=graph.persons|graph.locations}.
+ */
+@Component
+public class EntityKeyCache {
+
+    private final Cache<String, String> personKeys;
+    private final Cache<String, String> locationKeys;
+
+    public EntityKeyCache(MeterRegistry meterRegistry,
+                          @Value("${graph.entity-cache.max-persons:100000}") long maxPersons,
+                          @Value("${graph.entity-cache.max-locations:50000}") long maxLocations) {
+        this.personKeys = Caffeine.newBuilder().maximumSize(maxPersons).recordStats().build();
+        this.locationKeys = Caffeine.newBuilder().maximumSize(maxLocations).recordStats().build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, personKeys, "graph.persons");
+        CaffeineCacheMetrics.monitor(meterRegistry, locationKeys, "graph.locations");
+    }
+
+    public String getPersonKey(String personId) {
+        return personId != null ? personKeys.getIfPresent(personId) : null;
+    }
+
+    public void putPersonKey(String personId, String key) {
+        if (personId != null && key != null) {
+            personKeys.put(personId, key);
+        }
+    }
+
+    public void evictPersonKey(String personId) {
+        if (personId != null) {
+            personKeys.invalidate(personId);
+        }
+    }
+
+    public String getLocationKey(String locationKey) {
+        return locationKey != null ? locationKeys.getIfPresent(locationKey) : null;
+    }
+
+    public void putLocationKey(String locationKey, String key) {
+        if (locationKey != null && key != null) {
+            locationKeys.put(locationKey, key);
+        }
+    }
+
+    public void evictLocationKey(String locationKey) {
+        if (locationKey != null) {
+            locationKeys.invalidate(locationKey);
+        }
+    }
+}
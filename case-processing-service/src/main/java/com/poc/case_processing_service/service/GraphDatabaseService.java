@@ -2,21 +2,55 @@ package com.poc.case_processing_service.service;
 
 import com.arangodb.ArangoDatabase;
 import com.arangodb.entity.DocumentCreateEntity;
+import com.arangodb.entity.DocumentDeleteEntity;
+import com.arangodb.model.AqlQueryOptions;
+import com.arangodb.model.CollectionCreateOptions;
 import com.arangodb.model.DocumentCreateOptions;
+import com.arangodb.model.DocumentDeleteOptions;
+import com.arangodb.model.OverwriteMode;
 import com.arangodb.ArangoCursor;
-import com.arangodb.entity.BaseDocument;
+import com.arangodb.entity.BaseEdgeDocument;
+import com.arangodb.entity.CollectionType;
+import com.arangodb.entity.MultiDocumentEntity;
+import com.arangodb.entity.StreamTransactionEntity;
+import com.arangodb.model.StreamTransactionOptions;
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.Evidence;
+import com.poc.case_ingestion_service.model.Person;
+import com.poc.case_ingestion_service.model.PersonRole;
+import com.poc.case_processing_service.event.CasePersonEdgesCreatedEvent;
 import com.poc.case_processing_service.exception.GraphDatabaseException;
+import com.poc.case_processing_service.mapper.CaseGraphMapper;
+import com.poc.case_processing_service.metrics.GraphMetrics;
 import com.poc.case_processing_service.model.*;
-import com.poc.case_processing_service.repository.CasePersonEdgeRepository;
+import com.poc.case_processing_service.query.GraphQuery;
+import com.poc.case_processing_service.schema.GraphSchema;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -24,15 +58,502 @@ import java.util.ArrayList;
 public class GraphDatabaseService {
 
     private final ArangoDatabase arangoDatabase;
-    private final CasePersonEdgeRepository casePersonEdgeRepository;
+    private final CaseGraphMapper caseGraphMapper;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityKeyCache entityKeyCache;
+    private final TaskExecutor graphWriteExecutor;
+    private final GraphMetrics graphMetrics;
+
+    @Value("${graph.write.batched:true}")
+    private boolean batchedWrites;
+
+    @Value("${graph.cursor.batch-size:500}")
+    private int cursorBatchSize;
+
+    @Value("${graph.cursor.ttl-seconds:60}")
+    private int cursorTtlSeconds;
+
+    private final Map<GraphQuery, Timer> queryTimers = new EnumMap<>(GraphQuery.class);
+    private final Map<GraphQuery, DistributionSummary> queryRows = new EnumMap<>(GraphQuery.class);
+    private final Map<GraphQuery, Counter> queryErrors = new EnumMap<>(GraphQuery.class);
+
+    @PostConstruct
+    void registerQueryMetrics() {
+        for (GraphQuery query : GraphQuery.values()) {
+            queryTimers.put(query, Timer.builder("graph.query")
+                    .description("AQL execution time per registered query")
+                    .tag("query", query.metricName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            queryRows.put(query, DistributionSummary.builder("graph.query.rows")
+                    .description("Rows returned per registered query")
+                    .tag("query", query.metricName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            queryErrors.put(query, Counter.builder("graph.query.errors")
+                    .description("Failed executions per registered query")
+                    .tag("query", query.metricName())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Stores a complete case report (case, persons, location, evidence and their edges).
+     * Uses one AQL query when batched writes are enabled and falls back to the
+     * per-document path if the batched write fails.
+     */
+    public CaseGraphResult saveCaseGraph(CaseReport caseReport) {
+        validateNotNull(caseReport, "CaseReport cannot be null");
+
+        if (!batchedWrites) {
+            return graphMetrics.record("save_per_document", GraphSchema.GRAPH_NAME, () -> saveCaseGraphPerDocument(caseReport));
+        }
+
+        try {
+            return graphMetrics.record("save_batched", GraphSchema.GRAPH_NAME, () -> saveCaseGraphBatched(caseReport));
+        } catch (Exception e) {
+            graphMetrics.fallback("batched", "per_document");
+            log.warn("Batched case graph write failed for case {}, falling back to per-document writes: {}",
+                    caseReport.getCaseId(), e.getMessage());
+            return graphMetrics.record("save_per_document", GraphSchema.GRAPH_NAME, () -> saveCaseGraphPerDocument(caseReport));
+        }
+    }
+
+    /**
+     * Stores a case report with the {@link GraphQuery#SAVE_CASE_GRAPH} query. Persons and locations without a
+     * business id are keyed by their case and bulk inserted before the query, one request per collection, because
+     * the query already writes those collections once. The write is not atomic: if the query fails, those vertices
+     * stay behind unlinked, and the retry or the per-document fallback replaces them under the same keys.
+     */
+    public CaseGraphResult saveCaseGraphBatched(CaseReport caseReport) {
+        validateNotNull(caseReport, "CaseReport cannot be null");
+
+        CaseVertex caseVertex = caseGraphMapper.createCaseVertex(caseReport);
+        String caseKey = caseVertex.getKey();
+
+        List<Map<String, Object>> newPersons = new ArrayList<>();
+        List<Map<String, Object>> knownPersons = new ArrayList<>();
+        List<PersonVertex> ownedPersons = new ArrayList<>();
+        List<Person> involvedPersons = caseReport.getInvolvedPersons() != null
+                ? caseReport.getInvolvedPersons() : List.of();
+        for (int i = 0; i < involvedPersons.size(); i++) {
+            Person person = involvedPersons.get(i);
+            Map<String, Object> personLink = new HashMap<>();
+            personLink.put("index", i);
+            personLink.put("role", CaseGraphMapper.roleCode(person.getRole()));
+
+            String personKey = entityKeyCache.getPersonKey(person.getPersonId());
+            if (personKey == null && person.getPersonId() == null && caseKey != null) {
+                PersonVertex personVertex = caseGraphMapper.createPersonVertex(person);
+                personVertex.setKey(CaseGraphMapper.ownedKey(caseKey, "persons", "#" + i));
+                ownedPersons.add(personVertex);
+                personKey = personVertex.getKey();
+            }
+            if (personKey != null) {
+                personLink.put("key", personKey);
+                knownPersons.add(personLink);
+            } else {
+                personLink.put("matchId", matchId(person.getPersonId()));
+                personLink.put("vertex", caseGraphMapper.createPersonVertex(person));
+                newPersons.add(personLink);
+            }
+        }
+
+        List<Map<String, Object>> newLocations = new ArrayList<>(1);
+        List<String> knownLocations = new ArrayList<>(1);
+        List<LocationVertex> ownedLocations = new ArrayList<>(1);
+        if (caseReport.getLocation() != null) {
+            LocationVertex locationVertex = caseGraphMapper.createLocationVertex(caseReport.getLocation());
+            String locationKey = entityKeyCache.getLocationKey(locationVertex.getLocationKey());
+            if (locationKey == null && locationVertex.getLocationKey() == null && caseKey != null) {
+                locationVertex.setKey(CaseGraphMapper.ownedKey(caseKey, "locations", "#0"));
+                ownedLocations.add(locationVertex);
+                locationKey = locationVertex.getKey();
+            }
+            if (locationKey != null) {
+                knownLocations.add(locationKey);
+            } else {
+                Map<String, Object> locationLink = new HashMap<>();
+                locationLink.put("matchId", matchId(locationVertex.getLocationKey()));
+                locationLink.put("vertex", locationVertex);
+                newLocations.add(locationLink);
+            }
+        }
+
+        List<EvidenceVertex> evidence = new ArrayList<>();
+        if (caseReport.getEvidence() != null) {
+            for (int i = 0; i < caseReport.getEvidence().size(); i++) {
+                evidence.add(createEvidenceVertex(caseKey, caseReport.getEvidence().get(i), i));
+            }
+        }
+
+        // An AQL query may write each collection only once, so vertices without a business id
+        // (keyed by their case) are written up front and linked like known ones
+        insertAll("persons", ownedPersons, null);
+        insertAll("locations", ownedLocations, null);
+
+        Map<String, Object> bindVars = new HashMap<>();
+        bindVars.put("case", caseVertex);
+        bindVars.put("newPersons", newPersons);
+        bindVars.put("knownPersons", knownPersons);
+        bindVars.put("newLocations", newLocations);
+        bindVars.put("knownLocations", knownLocations);
+        bindVars.put("evidence", evidence);
+
+        List<CaseGraphResult> results = executeQuery(GraphQuery.SAVE_CASE_GRAPH, bindVars, CaseGraphResult.class);
+        if (results.isEmpty()) {
+            throw new GraphDatabaseException("Batched case graph write returned no result");
+        }
+
+        CaseGraphResult result = results.get(0);
+        for (int i = 0; i < involvedPersons.size(); i++) {
+            entityKeyCache.putPersonKey(involvedPersons.get(i).getPersonId(), result.getPersonKeys().get(i));
+        }
+        if (caseReport.getLocation() != null) {
+            entityKeyCache.putLocationKey(CaseGraphMapper.normalizedLocationKey(caseReport.getLocation()),
+                    result.getLocationKey());
+        }
+
+        caseVertex.setKey(result.getCaseKey());
+        result.setCaseVertex(caseVertex);
+        result.setCaseReport(caseReport);
+        publishCasePersonEdges(result.getCaseKey(), result.getPersonKeys());
+        log.info("Case graph saved in one query with case key: {}", result.getCaseKey());
+        return result;
+    }
+
+    /**
+     * Stores a case report one document and one edge per request. The vertex writes run
+     * concurrently on the graph write executor and each edge is written as soon as both
+     * of its endpoints are stored, on the thread that stored the second one. Edges are not
+     * submitted to the executor: a write thread waiting for a free slot of the executor it
+     * runs on would deadlock once every slot is taken.
+     */
+    public CaseGraphResult saveCaseGraphPerDocument(CaseReport caseReport) {
+        validateNotNull(caseReport, "CaseReport cannot be null");
+
+        CaseVertex caseVertex = caseGraphMapper.createCaseVertex(caseReport);
+        CompletableFuture<String> caseKey = CompletableFuture.supplyAsync(
+                () -> saveCaseToGraph(caseVertex), graphWriteExecutor);
+        List<CompletableFuture<Void>> edges = new ArrayList<>();
+
+        List<CompletableFuture<String>> personKeys = new ArrayList<>();
+        if (caseReport.getInvolvedPersons() != null) {
+            for (int i = 0; i < caseReport.getInvolvedPersons().size(); i++) {
+                Person person = caseReport.getInvolvedPersons().get(i);
+                PersonVertex personVertex = caseGraphMapper.createPersonVertex(person);
+                if (person.getPersonId() == null) {
+                    personVertex.setKey(CaseGraphMapper.ownedKey(caseVertex.getKey(), "persons", "#" + i));
+                }
+                CompletableFuture<String> personKey = CompletableFuture.supplyAsync(
+                        () -> savePersonToGraph(personVertex), graphWriteExecutor);
+                personKeys.add(personKey);
+                edges.add(caseKey.thenAcceptBoth(personKey,
+                        (from, to) -> createCasePersonRelationship(from, to, person.getRole())));
+            }
+        }
+
+        CompletableFuture<String> locationKey = CompletableFuture.completedFuture(null);
+        if (caseReport.getLocation() != null) {
+            LocationVertex locationVertex = caseGraphMapper.createLocationVertex(caseReport.getLocation());
+            if (locationVertex.getLocationKey() == null) {
+                locationVertex.setKey(CaseGraphMapper.ownedKey(caseVertex.getKey(), "locations", "#0"));
+            }
+            locationKey = CompletableFuture.supplyAsync(() -> saveLocationToGraph(locationVertex), graphWriteExecutor);
+            edges.add(caseKey.thenAcceptBoth(locationKey, this::createCaseLocationRelationship));
+        }
+
+        List<CompletableFuture<String>> evidenceKeys = new ArrayList<>();
+        if (caseReport.getEvidence() != null) {
+            for (int i = 0; i < caseReport.getEvidence().size(); i++) {
+                EvidenceVertex evidenceVertex = createEvidenceVertex(caseVertex.getKey(), caseReport.getEvidence().get(i), i);
+                CompletableFuture<String> evidenceKey = CompletableFuture.supplyAsync(
+                        () -> saveEvidenceToGraph(evidenceVertex), graphWriteExecutor);
+                evidenceKeys.add(evidenceKey);
+                edges.add(caseKey.thenAcceptBoth(evidenceKey, this::createCaseEvidenceRelationship));
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(edges.toArray(new CompletableFuture[0])).join();
+
+            CaseGraphResult result = new CaseGraphResult();
+            caseVertex.setKey(caseKey.join());
+            result.setCaseKey(caseVertex.getKey());
+            result.setCaseVertex(caseVertex);
+            result.setCaseReport(caseReport);
+            personKeys.forEach(personKey -> result.getPersonKeys().add(personKey.join()));
+            result.setLocationKey(locationKey.join());
+            evidenceKeys.forEach(evidenceKey -> result.getEvidenceKeys().add(evidenceKey.join()));
+            result.setEdgeCount(edges.size());
+            return result;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof GraphDatabaseException) {
+                throw (GraphDatabaseException) e.getCause();
+            }
+            throw new GraphDatabaseException("Failed to save case graph", e.getCause());
+        }
+    }
+
+    /**
+     * Stores a batch of case reports inside a single stream transaction: one upsert query each for
+     * the persons and locations not already in the key cache, then one bulk insert per remaining
+     * collection. Case, evidence and edge keys are derived client side, so the edges can be built before
+     * those vertices are written and a replayed batch overwrites what it wrote before. The batch is
+     * durable once this method returns.
+     */
+    public List<CaseGraphResult> saveCaseGraphs(List<CaseReport> caseReports) {
+        validateNotNull(caseReports, "CaseReports cannot be null");
+
+        StreamTransactionEntity transaction = arangoDatabase.beginStreamTransaction(new StreamTransactionOptions()
+                .writeCollections("cases", "persons", "locations", "evidence",
+                        "case_person", "case_location", "case_evidence")
+                .waitForSync(true));
+
+        try {
+            Map<String, String> personKeys = resolvePersonKeys(caseReports, transaction.getId());
+            Map<String, String> locationKeys = resolveLocationKeys(caseReports, transaction.getId());
+
+            List<CaseGraphResult> results = new ArrayList<>(caseReports.size());
+            List<CaseVertex> cases = new ArrayList<>(caseReports.size());
+            List<PersonVertex> anonymousPersons = new ArrayList<>();
+            List<LocationVertex> anonymousLocations = new ArrayList<>();
+            List<EvidenceVertex> evidence = new ArrayList<>();
+            List<BaseEdgeDocument> casePersonEdges = new ArrayList<>();
+            List<BaseEdgeDocument> caseLocationEdges = new ArrayList<>();
+            List<BaseEdgeDocument> caseEvidenceEdges = new ArrayList<>();
+
+            for (CaseReport caseReport : caseReports) {
+                CaseGraphResult result = new CaseGraphResult();
+                CaseVertex caseVertex = caseGraphMapper.createCaseVertex(caseReport);
+                if (caseVertex.getKey() == null) {
+                    caseVertex.setKey(newKey());
+                }
+                String caseKey = caseVertex.getKey();
+                String caseId = "cases/" + caseKey;
+                cases.add(caseVertex);
+                result.setCaseKey(caseVertex.getKey());
+                result.setCaseVertex(caseVertex);
+                result.setCaseReport(caseReport);
+
+                if (caseReport.getInvolvedPersons() != null) {
+                    for (int i = 0; i < caseReport.getInvolvedPersons().size(); i++) {
+                        Person person = caseReport.getInvolvedPersons().get(i);
+                        String personKey = person.getPersonId() != null ? personKeys.get(person.getPersonId()) : null;
+                        if (personKey == null) {
+                            PersonVertex personVertex = caseGraphMapper.createPersonVertex(person);
+                            personVertex.setKey(CaseGraphMapper.ownedKey(caseKey, "persons", "#" + i));
+                            anonymousPersons.add(personVertex);
+                            personKey = personVertex.getKey();
+                        }
+
+                        BaseEdgeDocument edge = new BaseEdgeDocument(
+                                CaseGraphMapper.edgeKey(caseKey, personKey), caseId, "persons/" + personKey);
+                        edge.addAttribute("role", CaseGraphMapper.roleCode(person.getRole()));
+                        edge.addAttribute("relationshipType", "INVOLVED_IN");
+                        casePersonEdges.add(edge);
+                        result.getPersonKeys().add(personKey);
+                    }
+                }
+
+                if (caseReport.getLocation() != null) {
+                    String normalizedKey = CaseGraphMapper.normalizedLocationKey(caseReport.getLocation());
+                    String locationKey = normalizedKey != null ? locationKeys.get(normalizedKey) : null;
+                    if (normalizedKey == null) {
+                        // Only a district, no address: the location belongs to this case, as on the other paths
+                        LocationVertex locationVertex = caseGraphMapper.createLocationVertex(caseReport.getLocation());
+                        locationVertex.setKey(CaseGraphMapper.ownedKey(caseKey, "locations", "#0"));
+                        anonymousLocations.add(locationVertex);
+                        locationKey = locationVertex.getKey();
+                    }
+                    if (locationKey != null) {
+                        BaseEdgeDocument edge = new BaseEdgeDocument(
+                                CaseGraphMapper.edgeKey(caseKey, locationKey), caseId, "locations/" + locationKey);
+                        edge.addAttribute("relationshipType", "OCCURRED_AT");
+                        caseLocationEdges.add(edge);
+                        result.setLocationKey(locationKey);
+                    }
+                }
+
+                if (caseReport.getEvidence() != null) {
+                    for (int i = 0; i < caseReport.getEvidence().size(); i++) {
+                        EvidenceVertex evidenceVertex = createEvidenceVertex(caseKey, caseReport.getEvidence().get(i), i);
+                        evidence.add(evidenceVertex);
+
+                        BaseEdgeDocument edge = new BaseEdgeDocument(
+                                CaseGraphMapper.edgeKey(caseKey, evidenceVertex.getKey()), caseId, "evidence/" + evidenceVertex.getKey());
+                        edge.addAttribute("relationshipType", "HAS_EVIDENCE");
+                        caseEvidenceEdges.add(edge);
+                        result.getEvidenceKeys().add(evidenceVertex.getKey());
+                    }
+                }
+
+                result.setEdgeCount(result.getPersonKeys().size() + result.getEvidenceKeys().size()
+                        + (result.getLocationKey() != null ? 1 : 0));
+                results.add(result);
+            }
+
+            insertAll("cases", cases, transaction.getId());
+            insertAll("persons", anonymousPersons, transaction.getId());
+            insertAll("locations", anonymousLocations, transaction.getId());
+            insertAll("evidence", evidence, transaction.getId());
+            insertAll("case_person", casePersonEdges, transaction.getId());
+            insertAll("case_location", caseLocationEdges, transaction.getId());
+            insertAll("case_evidence", caseEvidenceEdges, transaction.getId());
+
+            graphMetrics.record("commit", GraphSchema.GRAPH_NAME,
+                    () -> arangoDatabase.commitStreamTransaction(transaction.getId()));
+
+            personKeys.forEach(entityKeyCache::putPersonKey);
+            locationKeys.forEach(entityKeyCache::putLocationKey);
+            results.forEach(result -> publishCasePersonEdges(result.getCaseKey(), result.getPersonKeys()));
+            log.info("Case graph batch of {} cases saved", caseReports.size());
+            return results;
+        } catch (Exception e) {
+            abortQuietly(transaction.getId());
+            log.error("Error saving case graph batch: {}", e.getMessage());
+            throw new GraphDatabaseException("Failed to save case graph batch", e);
+        }
+    }
+
+    /**
+     * Maps every personId in the batch to its document key, upserting the ones not in the cache.
+     */
+    private Map<String, String> resolvePersonKeys(List<CaseReport> caseReports, String transactionId) {
+        Map<String, String> keys = new HashMap<>();
+        Map<String, PersonVertex> unresolved = new LinkedHashMap<>();
+
+        for (CaseReport caseReport : caseReports) {
+            if (caseReport.getInvolvedPersons() == null) {
+                continue;
+            }
+            for (Person person : caseReport.getInvolvedPersons()) {
+                String personId = person.getPersonId();
+                if (personId == null || keys.containsKey(personId) || unresolved.containsKey(personId)) {
+                    continue;
+                }
+                String cached = entityKeyCache.getPersonKey(personId);
+                if (cached != null) {
+                    keys.put(personId, cached);
+                } else {
+                    unresolved.put(personId, caseGraphMapper.createPersonVertex(person));
+                }
+            }
+        }
+
+        if (!unresolved.isEmpty()) {
+            Map<String, Object> bindVars = new HashMap<>();
+            bindVars.put("persons", new ArrayList<>(unresolved.values()));
+            upsertEntities(GraphQuery.UPSERT_PERSONS, bindVars, transactionId, keys);
+        }
+        return keys;
+    }
+
+    /**
+     * Maps every normalized location key in the batch to its document key, upserting the ones not in the cache.
+     */
+    private Map<String, String> resolveLocationKeys(List<CaseReport> caseReports, String transactionId) {
+        Map<String, String> keys = new HashMap<>();
+        Map<String, LocationVertex> unresolved = new LinkedHashMap<>();
+
+        for (CaseReport caseReport : caseReports) {
+            if (caseReport.getLocation() == null) {
+                continue;
+            }
+            LocationVertex locationVertex = caseGraphMapper.createLocationVertex(caseReport.getLocation());
+            String locationKey = locationVertex.getLocationKey();
+            if (locationKey == null || keys.containsKey(locationKey) || unresolved.containsKey(locationKey)) {
+                continue;
+            }
+            String cached = entityKeyCache.getLocationKey(locationKey);
+            if (cached != null) {
+                keys.put(locationKey, cached);
+            } else {
+                unresolved.put(locationKey, locationVertex);
+            }
+        }
+
+        if (!unresolved.isEmpty()) {
+            Map<String, Object> bindVars = new HashMap<>();
+            bindVars.put("locations", new ArrayList<>(unresolved.values()));
+            upsertEntities(GraphQuery.UPSERT_LOCATIONS, bindVars, transactionId, keys);
+        }
+        return keys;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void upsertEntities(GraphQuery query, Map<String, Object> bindVars, String transactionId,
+                                Map<String, String> keys) {
+        AqlQueryOptions options = new AqlQueryOptions();
+        if (transactionId != null) {
+            options.streamTransactionId(transactionId);
+        }
+        for (Map row : executeQuery(query, bindVars, Map.class, options)) {
+            keys.put((String) row.get("businessId"), (String) row.get("key"));
+        }
+    }
+
+    /**
+     * UPSERT search value for a business id; entities without one get a value that never
+     * matches so they are always inserted.
+     */
+    private static String matchId(String businessId) {
+        return businessId != null ? businessId : "anonymous:" + newKey();
+    }
+
+    /**
+     * Bulk insert; documents with a derived key replace their previous version
+     */
+    private void insertAll(String collectionName, List<?> documents, String transactionId) {
+        if (documents.isEmpty()) {
+            return;
+        }
+
+        DocumentCreateOptions options = new DocumentCreateOptions().overwriteMode(OverwriteMode.replace);
+        if (transactionId != null) {
+            options.streamTransactionId(transactionId);
+        }
+        graphMetrics.bulkSize(collectionName, documents.size());
+        MultiDocumentEntity<?> result = graphMetrics.record("bulk_insert", collectionName,
+                () -> arangoDatabase.collection(collectionName).insertDocuments(documents, options));
+
+        if (!result.getErrors().isEmpty()) {
+            throw new GraphDatabaseException(String.format("Bulk insert into %s failed for %d of %d documents: %s",
+                    collectionName, result.getErrors().size(), documents.size(),
+                    result.getErrors().get(0).getErrorMessage()));
+        }
+    }
+
+    private void abortQuietly(String transactionId) {
+        try {
+            arangoDatabase.abortStreamTransaction(transactionId);
+        } catch (Exception e) {
+            log.warn("Failed to abort stream transaction {}: {}", transactionId, e.getMessage());
+        }
+    }
+
+    private static String newKey() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Evidence vertex keyed by its case and evidenceId (or its position when it has none)
+     */
+    private EvidenceVertex createEvidenceVertex(String caseKey, Evidence evidence, int index) {
+        EvidenceVertex evidenceVertex = caseGraphMapper.createEvidenceVertex(evidence);
+        evidenceVertex.setKey(CaseGraphMapper.ownedKey(caseKey, "evidence",
+                evidence.getEvidenceId() != null ? evidence.getEvidenceId() : "#" + index));
+        return evidenceVertex;
+    }
 
     public String saveCaseToGraph(CaseVertex caseVertex) {
         validateNotNull(caseVertex, "CaseVertex cannot be null");
 
         try {
-            DocumentCreateEntity<CaseVertex> result = arangoDatabase
+            DocumentCreateEntity<CaseVertex> result = graphMetrics.record("insert", "cases", () -> arangoDatabase
                     .collection("cases")
-                    .insertDocument(caseVertex, new DocumentCreateOptions().returnNew(true));
+                    .insertDocument(caseVertex, new DocumentCreateOptions().overwriteMode(OverwriteMode.replace)));
 
             String key = result.getKey();
             log.info("Case saved to graph with key: {}", key);
@@ -47,9 +568,9 @@ public class GraphDatabaseService {
         validateNotNull(evidenceVertex, "EvidenceVertex cannot be null");
 
         try {
-            DocumentCreateEntity<EvidenceVertex> result = arangoDatabase
+            DocumentCreateEntity<EvidenceVertex> result = graphMetrics.record("insert", "evidence", () -> arangoDatabase
                     .collection("evidence")
-                    .insertDocument(evidenceVertex, new DocumentCreateOptions().returnNew(true));
+                    .insertDocument(evidenceVertex, new DocumentCreateOptions().overwriteMode(OverwriteMode.replace)));
 
             String key = result.getKey();
             log.info("Evidence saved to graph with key: {}", key);
@@ -60,16 +581,31 @@ public class GraphDatabaseService {
         }
     }
 
+    /**
+     * Returns the key of the person with the same personId, inserting the person if there is none.
+     * Persons without a personId are written under the key the caller set, derived from their case.
+     */
     public String savePersonToGraph(PersonVertex personVertex) {
         validateNotNull(personVertex, "PersonVertex cannot be null");
 
-        try {
-            DocumentCreateEntity<PersonVertex> result = arangoDatabase
-                    .collection("persons")
-                    .insertDocument(personVertex, new DocumentCreateOptions().returnNew(true));
+        if (personVertex.getPersonId() == null) {
+            return insertVertex("persons", personVertex, "Person");
+        }
 
-            String key = result.getKey();
-            log.info("Person saved to graph with key: {}", key);
+        String cached = entityKeyCache.getPersonKey(personVertex.getPersonId());
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Map<String, Object> bindVars = new HashMap<>();
+            bindVars.put("persons", List.of(personVertex));
+            Map<String, String> keys = new HashMap<>();
+            upsertEntities(GraphQuery.UPSERT_PERSONS, bindVars, null, keys);
+
+            String key = keys.get(personVertex.getPersonId());
+            entityKeyCache.putPersonKey(personVertex.getPersonId(), key);
+            log.info("Person upserted in graph with key: {}", key);
             return key;
         } catch (Exception e) {
             log.error("Error saving person to graph: {}", e.getMessage());
@@ -77,16 +613,31 @@ public class GraphDatabaseService {
         }
     }
 
+    /**
+     * Returns the key of the location with the same normalized address, inserting the location
+     * if there is none.
+     */
     public String saveLocationToGraph(LocationVertex locationVertex) {
         validateNotNull(locationVertex, "LocationVertex cannot be null");
 
-        try {
-            DocumentCreateEntity<LocationVertex> result = arangoDatabase
-                    .collection("locations")
-                    .insertDocument(locationVertex, new DocumentCreateOptions().returnNew(true));
+        if (locationVertex.getLocationKey() == null) {
+            return insertVertex("locations", locationVertex, "Location");
+        }
 
-            String key = result.getKey();
-            log.info("Location saved to graph with key: {}", key);
+        String cached = entityKeyCache.getLocationKey(locationVertex.getLocationKey());
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Map<String, Object> bindVars = new HashMap<>();
+            bindVars.put("locations", List.of(locationVertex));
+            Map<String, String> keys = new HashMap<>();
+            upsertEntities(GraphQuery.UPSERT_LOCATIONS, bindVars, null, keys);
+
+            String key = keys.get(locationVertex.getLocationKey());
+            entityKeyCache.putLocationKey(locationVertex.getLocationKey(), key);
+            log.info("Location upserted in graph with key: {}", key);
             return key;
         } catch (Exception e) {
             log.error("Error saving location to graph: {}", e.getMessage());
@@ -94,16 +645,45 @@ public class GraphDatabaseService {
         }
     }
 
-    public void createCasePersonRelationship(String caseKey, String personKey, String role) {
+    private <T> String insertVertex(String collectionName, T vertex, String label) {
+        try {
+            DocumentCreateEntity<T> result = graphMetrics.record("insert", collectionName, () -> arangoDatabase
+                    .collection(collectionName)
+                    .insertDocument(vertex, new DocumentCreateOptions().overwriteMode(OverwriteMode.replace)));
+
+            String key = result.getKey();
+            log.info("{} saved to graph with key: {}", label, key);
+            return key;
+        } catch (Exception e) {
+            log.error("Error saving {} to graph: {}", label.toLowerCase(), e.getMessage());
+            throw new GraphDatabaseException("Failed to save " + label.toLowerCase() + " to graph", e);
+        }
+    }
+
+    public void createCasePersonRelationship(String caseKey, String personKey, PersonRole role) {
         validateNotEmpty(caseKey, "Case key cannot be empty");
         validateNotEmpty(personKey, "Person key cannot be empty");
-        validateNotEmpty(role, "Role cannot be empty");
+        validateNotNull(role, "Role cannot be null");
+
+        Map<String, Object> bindVars = new HashMap<>();
+        bindVars.put("from", "cases/" + caseKey);
+        bindVars.put("to", "persons/" + personKey);
+        bindVars.put("role", role.code());
 
         try {
-            tryRepositoryApproach(caseKey, personKey, role);
+            graphMetrics.record("create_edge", "case_person",
+                    () -> executeQuery(GraphQuery.CREATE_CASE_PERSON_EDGE, bindVars, Void.class));
+            log.info("Case-Person relationship created: {} -> {} with role: {}", caseKey, personKey, role);
         } catch (Exception e) {
-            log.warn("Repository approach failed, trying AQL query approach: {}", e.getMessage());
-            tryAQLApproach(caseKey, personKey, role);
+            log.error("Failed to create case-person relationship: {}", e.getMessage());
+            throw new GraphDatabaseException("Failed to create case-person relationship", e);
+        }
+        publishCasePersonEdges(caseKey, List.of(personKey));
+    }
+
+    private void publishCasePersonEdges(String caseKey, List<String> personKeys) {
+        if (!personKeys.isEmpty()) {
+            eventPublisher.publishEvent(new CasePersonEdgesCreatedEvent(caseKey, personKeys));
         }
     }
 
@@ -112,13 +692,13 @@ public class GraphDatabaseService {
         validateNotEmpty(caseKey, "Case key cannot be empty");
         validateNotEmpty(evidenceKey, "Evidence key cannot be empty");
 
-        String aqlQuery = String.format(
-                "INSERT { _from: 'cases/%s', _to: 'evidence/%s', relationshipType: 'HAS_EVIDENCE' } INTO case_evidence",
-                caseKey, evidenceKey
-        );
+        Map<String, Object> bindVars = new HashMap<>();
+        bindVars.put("from", "cases/" + caseKey);
+        bindVars.put("to", "evidence/" + evidenceKey);
 
         try {
-            executeQuery(aqlQuery);
+            graphMetrics.record("create_edge", "case_evidence",
+                    () -> executeQuery(GraphQuery.CREATE_CASE_EVIDENCE_EDGE, bindVars, Void.class));
             log.info("Case-Evidence relationship created: {} -> {}", caseKey, evidenceKey);
         } catch (Exception e) {
             log.error("Failed to create case-evidence relationship: {}", e.getMessage());
@@ -131,13 +711,13 @@ public class GraphDatabaseService {
         validateNotEmpty(caseKey, "Case key cannot be empty");
         validateNotEmpty(locationKey, "Location key cannot be empty");
 
-        String aqlQuery = String.format(
-                "INSERT { _from: 'cases/%s', _to: 'locations/%s', relationshipType: 'OCCURRED_AT' } INTO case_location",
-                caseKey, locationKey
-        );
+        Map<String, Object> bindVars = new HashMap<>();
+        bindVars.put("from", "cases/" + caseKey);
+        bindVars.put("to", "locations/" + locationKey);
 
         try {
-            executeQuery(aqlQuery);
+            graphMetrics.record("create_edge", "case_location",
+                    () -> executeQuery(GraphQuery.CREATE_CASE_LOCATION_EDGE, bindVars, Void.class));
             log.info("Case-Location relationship created: {} -> {}", caseKey, locationKey);
         } catch (Exception e) {
             log.error("Failed to create case-location relationship: {}", e.getMessage());
@@ -145,43 +725,13 @@ public class GraphDatabaseService {
         }
     }
 
-    private void tryRepositoryApproach(String caseKey, String personKey, String role) {
-        CasePersonEdge edge = new CasePersonEdge();
-        edge.setFrom("cases/" + caseKey);
-        edge.setTo("persons/" + personKey);
-        edge.setRole(role);
-        edge.setRelationshipType("INVOLVED_IN");
-
-        log.info("Creating edge using repository with from={} to={} role={}",
-                edge.getFrom(), edge.getTo(), edge.getRole());
-
-        CasePersonEdge savedEdge = casePersonEdgeRepository.save(edge);
-        log.info("Case-Person relationship created via repository: {} -> {} with role: {}",
-                caseKey, personKey, role);
-    }
-
-    private void tryAQLApproach(String caseKey, String personKey, String role) {
-        String aqlQuery = String.format(
-                "INSERT { _from: 'cases/%s', _to: 'persons/%s', role: '%s', relationshipType: 'INVOLVED_IN' } INTO case_person",
-                caseKey, personKey, role
-        );
-
-        try {
-            executeQuery(aqlQuery);
-            log.info("Case-Person relationship created via AQL: {} -> {} with role: {}", caseKey, personKey, role);
-        } catch (Exception e) {
-            log.error("Failed to create relationship via AQL: {}", e.getMessage());
-            throw new GraphDatabaseException("Failed to create case-person relationship", e);
-        }
-    }
-
     public Optional<CaseVertex> getCaseByKey(String caseKey) {
         validateNotEmpty(caseKey, "Case key cannot be empty");
 
         try {
-            CaseVertex caseVertex = arangoDatabase
+            CaseVertex caseVertex = graphMetrics.record("get", "cases", () -> arangoDatabase
                     .collection("cases")
-                    .getDocument(caseKey, CaseVertex.class);
+                    .getDocument(caseKey, CaseVertex.class));
 
             return Optional.ofNullable(caseVertex);
         } catch (Exception e) {
@@ -194,9 +744,9 @@ public class GraphDatabaseService {
         validateNotEmpty(personKey, "Person key cannot be empty");
 
         try {
-            PersonVertex personVertex = arangoDatabase
+            PersonVertex personVertex = graphMetrics.record("get", "persons", () -> arangoDatabase
                     .collection("persons")
-                    .getDocument(personKey, PersonVertex.class);
+                    .getDocument(personKey, PersonVertex.class));
 
             return Optional.ofNullable(personVertex);
         } catch (Exception e) {
@@ -209,9 +759,9 @@ public class GraphDatabaseService {
         validateNotEmpty(locationKey, "Location key cannot be empty");
 
         try {
-            LocationVertex locationVertex = arangoDatabase
+            LocationVertex locationVertex = graphMetrics.record("get", "locations", () -> arangoDatabase
                     .collection("locations")
-                    .getDocument(locationKey, LocationVertex.class);
+                    .getDocument(locationKey, LocationVertex.class));
 
             return Optional.ofNullable(locationVertex);
         } catch (Exception e) {
@@ -224,9 +774,9 @@ public class GraphDatabaseService {
         validateNotEmpty(evidenceKey, "Evidence key cannot be empty");
 
         try {
-            EvidenceVertex evidenceVertex = arangoDatabase
+            EvidenceVertex evidenceVertex = graphMetrics.record("get", "evidence", () -> arangoDatabase
                     .collection("evidence")
-                    .getDocument(evidenceKey, EvidenceVertex.class);
+                    .getDocument(evidenceKey, EvidenceVertex.class));
 
             return Optional.ofNullable(evidenceVertex);
         } catch (Exception e) {
@@ -239,7 +789,7 @@ public class GraphDatabaseService {
         validateNotEmpty(caseKey, "Case key cannot be empty");
 
         try {
-            arangoDatabase.collection("cases").deleteDocument(caseKey);
+            graphMetrics.record("delete", "cases", () -> arangoDatabase.collection("cases").deleteDocument(caseKey));
             log.info("Case deleted with key: {}", caseKey);
             return true;
         } catch (Exception e) {
@@ -252,7 +802,11 @@ public class GraphDatabaseService {
         validateNotEmpty(personKey, "Person key cannot be empty");
 
         try {
-            arangoDatabase.collection("persons").deleteDocument(personKey);
+            DocumentDeleteEntity<PersonVertex> deleted = graphMetrics.record("delete", "persons", () -> arangoDatabase
+                    .collection("persons").deleteDocument(personKey, new DocumentDeleteOptions().returnOld(true), PersonVertex.class));
+            if (deleted.getOld() != null) {
+                entityKeyCache.evictPersonKey(deleted.getOld().getPersonId());
+            }
             log.info("Person deleted with key: {}", personKey);
             return true;
         } catch (Exception e) {
@@ -265,7 +819,11 @@ public class GraphDatabaseService {
         validateNotEmpty(locationKey, "Location key cannot be empty");
 
         try {
-            arangoDatabase.collection("locations").deleteDocument(locationKey);
+            DocumentDeleteEntity<LocationVertex> deleted = graphMetrics.record("delete", "locations", () -> arangoDatabase
+                    .collection("locations").deleteDocument(locationKey, new DocumentDeleteOptions().returnOld(true), LocationVertex.class));
+            if (deleted.getOld() != null) {
+                entityKeyCache.evictLocationKey(deleted.getOld().getLocationKey());
+            }
             log.info("Location deleted with key: {}", locationKey);
             return true;
         } catch (Exception e) {
@@ -278,7 +836,7 @@ public class GraphDatabaseService {
         validateNotEmpty(evidenceKey, "Evidence key cannot be empty");
 
         try {
-            arangoDatabase.collection("evidence").deleteDocument(evidenceKey);
+            graphMetrics.record("delete", "evidence", () -> arangoDatabase.collection("evidence").deleteDocument(evidenceKey));
             log.info("Evidence deleted with key: {}", evidenceKey);
             return true;
         } catch (Exception e) {
@@ -287,70 +845,120 @@ public class GraphDatabaseService {
         }
     }
 
-    public List<Map<String, Object>> executeQuery(String query) {
-        validateNotEmpty(query, "Query cannot be empty");
+    /**
+     * Runs a registered query. Every value must be supplied as a bind variable declared by the query.
+     */
+    public <T> List<T> executeQuery(GraphQuery query, Map<String, Object> bindVars, Class<T> type) {
+        return executeQuery(query, bindVars, type, new AqlQueryOptions());
+    }
 
+    private <T> List<T> executeQuery(GraphQuery query, Map<String, Object> bindVars, Class<T> type,
+                                     AqlQueryOptions options) {
+        validateNotNull(query, "Query cannot be null");
+        validateNotNull(type, "Type cannot be null");
+        validateBindVars(query, bindVars);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            log.debug("Executing AQL query: {}", query);
-            ArangoCursor<BaseDocument> cursor = arangoDatabase.query(query, BaseDocument.class);
+            log.debug("Executing AQL query {} with bind vars {}", query, bindVars.keySet());
 
-            List<Map<String, Object>> results = new ArrayList<>();
-            cursor.forEach(doc -> results.add(doc.getProperties()));
+            List<T> results = new ArrayList<>();
+            try (ArangoCursor<T> cursor = arangoDatabase.query(query.getAql(), type, bindVars, options)) {
+                cursor.forEach(results::add);
+            }
 
-            log.debug("Query executed successfully, returned {} results", results.size());
+            queryRows.get(query).record(results.size());
+            log.debug("Query {} executed successfully, returned {} results", query, results.size());
             return results;
         } catch (Exception e) {
-            log.error("Error executing query: {}", e.getMessage());
-            throw new GraphDatabaseException("Failed to execute query", e);
+            queryErrors.get(query).increment();
+            log.error("Error executing query {}: {}", query, e.getMessage());
+            throw new GraphDatabaseException("Failed to execute query " + query, e);
+        } finally {
+            sample.stop(queryTimers.get(query));
         }
     }
 
-    public <T> List<T> executeQuery(String query, Class<T> type) {
-        validateNotEmpty(query, "Query cannot be empty");
+    /**
+     * Streams the results of a registered query. The server cursor is read one batch at a time
+     * ({@code graph.cursor.batch-size} documents), so memory stays bounded whatever the result size.
+     * The returned stream must be closed, preferably with try-with-resources; closing it releases
+     * the server cursor.
+     */
+    public <T> Stream<T> streamQuery(GraphQuery query, Map<String, Object> bindVars, Class<T> type) {
+        validateNotNull(query, "Query cannot be null");
         validateNotNull(type, "Type cannot be null");
+        validateBindVars(query, bindVars);
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ArangoCursor<T> cursor;
         try {
-            log.debug("Executing AQL query with type {}: {}", type.getSimpleName(), query);
-            ArangoCursor<T> cursor = arangoDatabase.query(query, type);
-
-            List<T> results = new ArrayList<>();
-            cursor.forEach(results::add);
-
-            log.debug("Query executed successfully, returned {} results", results.size());
-            return results;
+            log.debug("Streaming AQL query {} with bind vars {}", query, bindVars.keySet());
+            cursor = arangoDatabase.query(query.getAql(), type, bindVars, new AqlQueryOptions()
+                    .stream(true)
+                    .batchSize(cursorBatchSize)
+                    .ttl(cursorTtlSeconds));
         } catch (Exception e) {
-            log.error("Error executing query with type {}: {}", type.getSimpleName(), e.getMessage());
-            throw new GraphDatabaseException("Failed to execute query", e);
+            sample.stop(queryTimers.get(query));
+            queryErrors.get(query).increment();
+            log.error("Error executing query {}: {}", query, e.getMessage());
+            throw new GraphDatabaseException("Failed to execute query " + query, e);
         }
+
+        long[] rows = new long[1];
+        return cursor.stream()
+                .peek(row -> rows[0]++)
+                .onClose(() -> {
+                    closeQuietly(cursor, query);
+                    sample.stop(queryTimers.get(query));
+                    queryRows.get(query).record(rows[0]);
+                    log.debug("Query {} stream closed after {} results", query, rows[0]);
+                });
     }
 
-    public long executeCountQuery(String query) {
-        validateNotEmpty(query, "Query cannot be empty");
+    /**
+     * Hands every result of a registered query to {@code consumer} and closes the cursor
+     * afterwards. Returns the number of results consumed.
+     */
+    public <T> long forEachResult(GraphQuery query, Map<String, Object> bindVars, Class<T> type, Consumer<T> consumer) {
+        validateNotNull(consumer, "Consumer cannot be null");
+
+        long count = 0;
+        try (Stream<T> results = streamQuery(query, bindVars, type)) {
+            Iterator<T> iterator = results.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
 
+    private void closeQuietly(ArangoCursor<?> cursor, GraphQuery query) {
         try {
-            log.debug("Executing count query: {}", query);
-            ArangoCursor<Long> cursor = arangoDatabase.query(query, Long.class);
-
-            return cursor.hasNext() ? cursor.next() : 0L;
+            cursor.close();
         } catch (Exception e) {
-            log.error("Error executing count query: {}", e.getMessage());
-            throw new GraphDatabaseException("Failed to execute count query", e);
+            log.warn("Failed to close cursor for query {}: {}", query, e.getMessage());
         }
     }
 
-    // FIXED: Collection management methods
+    public long executeCountQuery(GraphQuery query, Map<String, Object> bindVars) {
+        List<Long> results = executeQuery(query, bindVars, Long.class);
+        return results.isEmpty() ? 0L : results.get(0);
+    }
+
     public boolean collectionExists(String collectionName) {
         try {
-            return !arangoDatabase.collection(collectionName).exists();
+            return arangoDatabase.collection(collectionName).exists();
         } catch (Exception e) {
             log.error("Error checking if collection exists: {}", collectionName, e);
-            return true;
+            return false;
         }
     }
 
     public void createCollectionIfNotExists(String collectionName) {
         try {
-            if (collectionExists(collectionName)) {
+            if (!collectionExists(collectionName)) {
                 arangoDatabase.createCollection(collectionName);
                 log.info("Created collection: {}", collectionName);
             }
@@ -362,9 +970,9 @@ public class GraphDatabaseService {
 
     public void createEdgeCollectionIfNotExists(String collectionName) {
         try {
-            if (collectionExists(collectionName)) {
+            if (!collectionExists(collectionName)) {
                 arangoDatabase.createCollection(collectionName,
-                        new com.arangodb.model.CollectionCreateOptions().type(com.arangodb.entity.CollectionType.EDGES));
+                        new CollectionCreateOptions().type(CollectionType.EDGES));
                 log.info("Created edge collection: {}", collectionName);
             }
         } catch (Exception e) {
@@ -385,14 +993,11 @@ public class GraphDatabaseService {
         }
     }
 
-    public List<Map<String, Object>> executeQuerySafely(String query, String... requiredCollections) {
-        for (String collection : requiredCollections) {
-            if (collectionExists(collection)) {
-                log.warn("Required collection '{}' does not exist for query", collection);
-                throw new GraphDatabaseException("Required collection '" + collection + "' does not exist");
-            }
+    private void validateBindVars(GraphQuery query, Map<String, Object> bindVars) {
+        validateNotNull(bindVars, "Bind vars cannot be null");
+        if (!query.getBindVars().equals(bindVars.keySet())) {
+            throw new IllegalArgumentException(String.format("Query %s expects bind vars %s but got %s",
+                    query, query.getBindVars(), bindVars.keySet()));
         }
-
-        return executeQuery(query);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.poc.case_processing_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+/**
+ * Remembers a hash of the last stored payload of recently processed cases, so a redelivered record
+ * with unchanged content is skipped before it touches ArangoDB. A new version of a case has a
+ * different hash and goes through. The filter is bounded and per instance; whatever it misses
+ * (evicted entries, restarts, rebalanced partitions) is still harmless because every graph write is
+ * keyed by caseId and overwrites the previous version.
+ */
+@Component
+public class ProcessedCaseFilter {
+
+    private final Cache<String, Long> processed;
+    private final Counter skipped;
+
+    public ProcessedCaseFilter(MeterRegistry meterRegistry,
+                               @Value("${case-processing.dedup.max-cases:100000}") long maxCases,
+                               @Value("${case-processing.dedup.ttl-minutes:60}") long ttlMinutes) {
+        this.processed = Caffeine.newBuilder()
+                .maximumSize(maxCases)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        this.skipped = Counter.builder("case.dedup.skipped")
+                .description("Redelivered case records skipped because their content was already stored")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, processed, "processed-cases");
+    }
+
+    /**
+     * 64-bit hash of a record payload
+     */
+    public static long contentHash(byte[] payload) {
+        return ByteBuffer.wrap(DigestUtils.md5Digest(payload)).getLong();
+    }
+
+    /**
+     * True when this exact content was stored for the case recently; counts the skip
+     */
+    public boolean isReplay(String caseId, Long contentHash) {
+        if (caseId == null || contentHash == null) {
+            return false;
+        }
+        Long stored = processed.getIfPresent(caseId);
+        if (stored != null && stored.equals(contentHash)) {
+            skipped.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public void markStored(String caseId, Long contentHash) {
+        if (caseId != null && contentHash != null) {
+            processed.put(caseId, contentHash);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.poc.case_processing_service.benchmark;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.Evidence;
+import com.poc.case_ingestion_service.model.Person;
+import com.poc.case_processing_service.mapper.CaseGraphMapper;
+import com.poc.case_processing_service.model.CaseVertex;
+import com.poc.case_processing_service.model.LocationVertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU and allocation cost of turning one CaseReport into graph vertices, per vertex type and for a
+ * whole case as the write path does it (case key digest, location key normalization, owned and edge
+ * keys). No infrastructure needed. Run with {@code -prof gc} for bytes allocated per case:
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-classpath %classpath org.openjdk.jmh.Main CaseGraphMappingBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class CaseGraphMappingBenchmark {
+
+    @Param({"3", "50"})
+    private int personsPerCase;
+
+    @Param({"2", "100"})
+    private int evidencePerCase;
+
+    private final CaseGraphMapper mapper = new CaseGraphMapper();
+    private CaseReport caseReport;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        caseReport = SampleCases.caseReport(1, personsPerCase, evidencePerCase);
+    }
+
+    @Benchmark
+    public CaseVertex caseVertex() {
+        return mapper.createCaseVertex(caseReport);
+    }
+
+    @Benchmark
+    public LocationVertex locationVertex() {
+        return mapper.createLocationVertex(caseReport.getLocation());
+    }
+
+    @Benchmark
+    public void personVertices(Blackhole blackhole) {
+        for (Person person : caseReport.getInvolvedPersons()) {
+            blackhole.consume(mapper.createPersonVertex(person));
+        }
+    }
+
+    @Benchmark
+    public void evidenceVertices(Blackhole blackhole) {
+        for (Evidence evidence : caseReport.getEvidence()) {
+            blackhole.consume(mapper.createEvidenceVertex(evidence));
+        }
+    }
+
+    /**
+     * Everything the batched write path derives from a case before its AQL round trip
+     */
+    @Benchmark
+    public void wholeCase(Blackhole blackhole) {
+        CaseVertex caseVertex = mapper.createCaseVertex(caseReport);
+        String caseKey = caseVertex.getKey();
+        blackhole.consume(caseVertex);
+
+        LocationVertex locationVertex = mapper.createLocationVertex(caseReport.getLocation());
+        blackhole.consume(CaseGraphMapper.edgeKey(caseKey, locationVertex.getLocationKey()));
+        for (int i = 0; i < caseReport.getInvolvedPersons().size(); i++) {
+            Person person = caseReport.getInvolvedPersons().get(i);
+            blackhole.consume(mapper.createPersonVertex(person));
+            blackhole.consume(CaseGraphMapper.edgeKey(caseKey, person.getPersonId()));
+        }
+        for (int i = 0; i < caseReport.getEvidence().size(); i++) {
+            Evidence evidence = caseReport.getEvidence().get(i);
+            blackhole.consume(mapper.createEvidenceVertex(evidence));
+            blackhole.consume(CaseGraphMapper.ownedKey(caseKey, "evidence", evidence.getEvidenceId()));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.poc.case_processing_service.benchmark;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_processing_service.CaseProcessingServiceApplication;
+import com.poc.case_processing_service.model.CaseGraphResult;
+import com.poc.case_processing_service.service.AsyncGraphDatabaseService;
+import com.poc.case_processing_service.service.GraphDatabaseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-case write latency of the per-document baseline (one request per document, one after another)
+ * against the batched path (one AQL query, plus a bulk insert per collection for persons and
+ * locations without a business id) and the async path (vertices written concurrently, edges chained
+ * on their keys).
+ * Needs a running ArangoDB (see docker-compose.yml); connection settings come from application.yml
+ * and can be overridden with -Darangodb.host=... etc. in exec.args, ahead of -classpath.
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-classpath %classpath org.openjdk.jmh.Main CaseGraphWriteBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class CaseGraphWriteBenchmark {
+
+    @Param({"PER_DOCUMENT", "BATCHED", "ASYNC"})
+    private String writePath;
+
+    @Param({"3"})
+    private int personsPerCase;
+
+    @Param({"2"})
+    private int evidencePerCase;
+
+    private ConfigurableApplicationContext context;
+    private GraphDatabaseService graphDatabaseService;
+    private AsyncGraphDatabaseService asyncGraphDatabaseService;
+    private int seq;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The per-document baseline runs sequentially instead of fanning out on the graph write executor
+        int fanOut = "PER_DOCUMENT".equals(writePath) ? 1 : 64;
+        context = new SpringApplicationBuilder(CaseProcessingServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("camel.springboot.auto-startup=false",
+                        "graph.write.fan-out.max-concurrency=" + fanOut)
+                .run();
+        graphDatabaseService = context.getBean(GraphDatabaseService.class);
+        asyncGraphDatabaseService = context.getBean(AsyncGraphDatabaseService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CaseGraphResult saveCase() {
+        CaseReport caseReport = SampleCases.caseReport(seq++, personsPerCase, evidencePerCase);
+        switch (writePath) {
+            case "BATCHED":
+                return graphDatabaseService.saveCaseGraphBatched(caseReport);
+            case "ASYNC":
+                return asyncGraphDatabaseService.saveCaseGraph(caseReport).join();
+            default:
+                return graphDatabaseService.saveCaseGraphPerDocument(caseReport);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.poc.case_processing_service.benchmark;
+
+import com.poc.case_ingestion_service.codec.CaseReportCodec;
+import com.poc.case_ingestion_service.codec.CaseWireFormat;
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.CaseStatus;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewPartitions;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains a backlog of case events through a running processing service and reports records per
+ * second, so consumption can be compared across partition counts and {@code consumers-count}.
+ * Each case is sent {@code updatesPerCase} times with its caseId as key, as ingestion does, so every
+ * update of a case lands on the same partition.
+ *
+ * <p>Against a local single-node broker, for each combination to compare:
+ * <pre>
+ * # topic partitions are only ever increased; start from a fresh broker to go back down
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.poc.case_processing_service.benchmark.PartitionScalingLoadTest \
+ *     -Dexec.args="localhost:9092 8 20000 3"
+ * mvn spring-boot:run -Dspring-boot.run.arguments="--case-processing.kafka.brokers=localhost:9092 \
+ *     --case-processing.kafka.consumers-count=8 --case-processing.kafka.auto-offset-reset=earliest"
+ * </pre>
+ *
+ * The backlog is produced first, then the test waits for the service's consumer group to commit up
+ * to the end of every partition. Throughput is measured from the first committed offset change, so
+ * start the service after the backlog is written. Auto-committed offsets lag by up to
+ * auto.commit.interval.ms (5s), so use a backlog that takes well over a minute to drain.
+ */
+public class PartitionScalingLoadTest {
+
+    private static final String TOPIC = "case-events";
+    private static final String GROUP_ID = "case-processing-group";
+
+    public static void main(String[] args) throws Exception {
+        String bootstrap = args.length > 0 ? args[0] : "localhost:9092";
+        int partitions = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int cases = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+        int updatesPerCase = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+        Properties adminProps = new Properties();
+        adminProps.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrap);
+
+        try (Admin admin = Admin.create(adminProps)) {
+            ensurePartitions(admin, partitions);
+            long records = produceBacklog(bootstrap, cases, updatesPerCase);
+            Map<TopicPartition, Long> endOffsets = endOffsets(admin);
+            System.out.printf("topic=%s partitions=%d records=%d (%d cases x %d updates), client cores=%d%n",
+                    TOPIC, endOffsets.size(), records, cases, updatesPerCase, Runtime.getRuntime().availableProcessors());
+            System.out.println("Backlog written, start the processing service now");
+
+            long initialLag = lag(admin, endOffsets);
+            long startLag = initialLag;
+            long start = 0;
+            long lag = initialLag;
+            while (lag > 0) {
+                Thread.sleep(1000);
+                lag = lag(admin, endOffsets);
+                if (start == 0 && lag < initialLag) {
+                    start = System.nanoTime();
+                    startLag = lag;
+                }
+                System.out.printf("lag=%d%n", lag);
+            }
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("partitions=%d drained=%d records in %.1fs throughput=%.1f records/s%n",
+                    endOffsets.size(), startLag, seconds, startLag / seconds);
+        }
+        System.exit(0);
+    }
+
+    private static void ensurePartitions(Admin admin, int partitions) throws Exception {
+        Set<String> topics = admin.listTopics().names().get();
+        if (!topics.contains(TOPIC)) {
+            admin.createTopics(List.of(new NewTopic(TOPIC, partitions, (short) 1))).all().get();
+            return;
+        }
+        int current = admin.describeTopics(List.of(TOPIC)).allTopicNames().get().get(TOPIC).partitions().size();
+        if (current < partitions) {
+            admin.createPartitions(Map.of(TOPIC, NewPartitions.increaseTo(partitions))).all().get();
+        } else if (current > partitions) {
+            System.out.printf("Topic already has %d partitions, running with those%n", current);
+        }
+    }
+
+    private static long produceBacklog(String bootstrap, int cases, int updatesPerCase) {
+        Properties props = new Properties();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrap);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 20);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+
+        CaseReportCodec codec = new CaseReportCodec();
+        byte[] format = CaseWireFormat.JSON.headerValue().getBytes(StandardCharsets.UTF_8);
+        long sent = 0;
+
+        try (KafkaProducer<String, byte[]> producer = new KafkaProducer<>(props)) {
+            for (int update = 0; update < updatesPerCase; update++) {
+                for (int seq = 0; seq < cases; seq++) {
+                    CaseReport caseReport = SampleCases.caseReport(seq, 3, 2);
+                    caseReport.setCaseId("LOAD-" + seq);
+                    caseReport.setStatus(update == updatesPerCase - 1 ? CaseStatus.CLOSED : CaseStatus.PENDING);
+                    caseReport.setDescription(caseReport.getDescription() + " (update " + update + ")");
+
+                    ProducerRecord<String, byte[]> record =
+                            new ProducerRecord<>(TOPIC, caseReport.getCaseId(), codec.encode(caseReport, CaseWireFormat.JSON));
+                    record.headers().add(CaseWireFormat.HEADER, format);
+                    producer.send(record);
+                    sent++;
+                }
+            }
+            producer.flush();
+        }
+        return sent;
+    }
+
+    private static Map<TopicPartition, Long> endOffsets(Admin admin) throws Exception {
+        int partitions = admin.describeTopics(List.of(TOPIC)).allTopicNames().get().get(TOPIC).partitions().size();
+        Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+        for (int p = 0; p < partitions; p++) {
+            request.put(new TopicPartition(TOPIC, p), OffsetSpec.latest());
+        }
+        return admin.listOffsets(request).all().get().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().offset()));
+    }
+
+    private static long lag(Admin admin, Map<TopicPartition, Long> endOffsets) throws Exception {
+        Map<TopicPartition, OffsetAndMetadata> committed =
+                admin.listConsumerGroupOffsets(GROUP_ID).partitionsToOffsetAndMetadata().get();
+        Function<TopicPartition, Long> committedOffset = partition -> {
+            OffsetAndMetadata offset = committed.get(partition);
+            return offset != null ? offset.offset() : 0L;
+        };
+        long lag = 0;
+        for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+            lag += Math.max(0, end.getValue() - committedOffset.apply(end.getKey()));
+        }
+        return lag;
+    }
+}
@@ -0,0 +1,75 @@
+package com.poc.case_processing_service.benchmark;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.CaseStatus;
+import com.poc.case_ingestion_service.model.CaseType;
+import com.poc.case_ingestion_service.model.Evidence;
+import com.poc.case_ingestion_service.model.EvidenceType;
+import com.poc.case_ingestion_service.model.Location;
+import com.poc.case_ingestion_service.model.Person;
+import com.poc.case_ingestion_service.model.PersonRole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds synthetic case reports for the benchmarks.
+ */
+final class SampleCases {
+
+    private static final CaseType[] CASE_TYPES = {
+            CaseType.THEFT, CaseType.ASSAULT, CaseType.FRAUD, CaseType.ROBBERY, CaseType.BURGLARY};
+    private static final PersonRole[] ROLES = PersonRole.values();
+    private static final EvidenceType[] EVIDENCE_TYPES = EvidenceType.values();
+
+    private SampleCases() {
+    }
+
+    static CaseReport caseReport(int seq, int persons, int evidence) {
+        CaseReport caseReport = new CaseReport();
+        caseReport.setCaseId("BENCH-" + UUID.randomUUID());
+        caseReport.setCaseType(CASE_TYPES[seq % CASE_TYPES.length]);
+        caseReport.setStatus(CaseStatus.OPEN);
+        caseReport.setReportedAt(LocalDateTime.now());
+        caseReport.setDescription("Synthetic benchmark case " + seq);
+        caseReport.setReportingOfficer("OFFICER-" + (seq % 50));
+
+        Location location = new Location();
+        location.setAddress(seq % 500 + " Main Street");
+        location.setPostalCode("4000" + seq % 10);
+        location.setCity("Springfield");
+        location.setState("IL");
+        location.setCountry("US");
+        location.setDistrict("DISTRICT-" + seq % 20);
+        caseReport.setLocation(location);
+
+        List<Person> involvedPersons = new ArrayList<>(persons);
+        for (int i = 0; i < persons; i++) {
+            Person person = new Person();
+            person.setPersonId("P-" + (seq * 7 + i) % 10_000);
+            person.setFirstName("First" + i);
+            person.setLastName("Last" + seq);
+            person.setRole(ROLES[i % ROLES.length]);
+            person.setContactNumber("555-01" + i);
+            person.setAddress(i + " Side Street");
+            involvedPersons.add(person);
+        }
+        caseReport.setInvolvedPersons(involvedPersons);
+
+        List<Evidence> evidenceList = new ArrayList<>(evidence);
+        for (int i = 0; i < evidence; i++) {
+            Evidence item = new Evidence();
+            item.setEvidenceId("E-" + seq + "-" + i);
+            item.setType(EVIDENCE_TYPES[i % EVIDENCE_TYPES.length]);
+            item.setDescription("Evidence item " + i);
+            item.setCollectedBy("OFFICER-" + (seq % 50));
+            item.setCollectedAt(LocalDateTime.now());
+            evidenceList.add(item);
+        }
+        caseReport.setEvidence(evidenceList);
+
+        return caseReport;
+    }
+}
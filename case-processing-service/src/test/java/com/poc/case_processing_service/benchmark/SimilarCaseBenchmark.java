@@ -0,0 +1,107 @@
+package com.poc.case_processing_service.benchmark;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_processing_service.CaseProcessingServiceApplication;
+import com.poc.case_processing_service.query.GraphQuery;
+import com.poc.case_processing_service.pattern.SimilarCaseIndex;
+import com.poc.case_processing_service.service.GraphDatabaseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Similar-case lookup through the in-process inverted index against the previous
+ * "same caseType" AQL scan. Setup stores {@code corpusSize} synthetic cases in ArangoDB and the
+ * index, so it needs a running ArangoDB.
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-classpath %classpath org.openjdk.jmh.Main SimilarCaseBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class SimilarCaseBenchmark {
+
+    @Param({"INDEX", "AQL"})
+    private String approach;
+
+    @Param({"20000"})
+    private int corpusSize;
+
+    private ConfigurableApplicationContext context;
+    private GraphDatabaseService graphDatabaseService;
+    private SimilarCaseIndex similarCaseIndex;
+    private List<CaseReport> queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CaseProcessingServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("camel.springboot.auto-startup=false")
+                .run();
+        graphDatabaseService = context.getBean(GraphDatabaseService.class);
+        similarCaseIndex = context.getBean(SimilarCaseIndex.class);
+
+        List<CaseReport> batch = new ArrayList<>();
+        for (int i = 0; i < corpusSize; i++) {
+            CaseReport caseReport = SampleCases.caseReport(i, 3, 1);
+            similarCaseIndex.add(caseReport);
+            batch.add(caseReport);
+            if (batch.size() == 500) {
+                graphDatabaseService.saveCaseGraphs(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            graphDatabaseService.saveCaseGraphs(batch);
+        }
+
+        queries = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            queries.add(SampleCases.caseReport(corpusSize + i, 3, 1));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object findSimilar() {
+        CaseReport query = queries.get(next++ & 1023);
+        if ("INDEX".equals(approach)) {
+            return similarCaseIndex.findSimilar(query, 10);
+        }
+
+        Map<String, Object> bindVars = new HashMap<>();
+        bindVars.put("caseType", query.getCaseType().code());
+        bindVars.put("caseId", query.getCaseId());
+        return graphDatabaseService.executeQuery(GraphQuery.SIMILAR_CASES, bindVars, Map.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.poc.case_processing_service.mapper;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.Location;
+import com.poc.case_processing_service.model.CaseVertex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaseGraphMapperTest {
+
+	private final CaseGraphMapper mapper = new CaseGraphMapper();
+
+	@Test
+	void caseKeyIsDerivedFromCaseId() {
+		assertThat(CaseGraphMapper.caseKey("C-1")).isEqualTo(CaseGraphMapper.caseKey("C-1"));
+		assertThat(CaseGraphMapper.caseKey("C-1")).isNotEqualTo(CaseGraphMapper.caseKey("C-2"));
+		assertThat(CaseGraphMapper.caseKey(null)).isNull();
+	}
+
+	@Test
+	void ownedKeysAreDistinctPerCollectionAndPart() {
+		String caseKey = CaseGraphMapper.caseKey("C-1");
+
+		assertThat(CaseGraphMapper.ownedKey(caseKey, "persons", "#0"))
+				.isNotEqualTo(CaseGraphMapper.ownedKey(caseKey, "persons", "#1"))
+				.isNotEqualTo(CaseGraphMapper.ownedKey(caseKey, "locations", "#0"))
+				.isNotEqualTo(CaseGraphMapper.ownedKey(CaseGraphMapper.caseKey("C-2"), "persons", "#0"));
+		assertThat(CaseGraphMapper.ownedKey(null, "persons", "#0")).isNull();
+	}
+
+	@Test
+	void edgeKeyMatchesTheAqlDerivation() throws NoSuchAlgorithmException {
+		// MD5(CONCAT(fromKey, '>', toKey)) in the edge queries
+		byte[] md5 = MessageDigest.getInstance("MD5").digest("case-key>person-key".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(CaseGraphMapper.edgeKey("case-key", "person-key")).isEqualTo(HexFormat.of().formatHex(md5));
+	}
+
+	@Test
+	void normalizedLocationKeyIgnoresCaseWhitespaceAndPunctuation() {
+		Location location = location(" 12  Main St. ", "40001", "Springfield", "IL", "US", "NORTH");
+		Location sameAddress = location("12 main st", "40001", "SPRINGFIELD", "il", "us", "SOUTH");
+
+		assertThat(CaseGraphMapper.normalizedLocationKey(location))
+				.isEqualTo("12 main st|40001|springfield|il|us")
+				.isEqualTo(CaseGraphMapper.normalizedLocationKey(sameAddress));
+		assertThat(CaseGraphMapper.normalizedLocationKey(location("12 Main St", "40002", "Springfield", "IL", "US", null)))
+				.isNotEqualTo(CaseGraphMapper.normalizedLocationKey(location));
+	}
+
+	@Test
+	void normalizedLocationKeyIsNullWithoutAddressFields() {
+		assertThat(CaseGraphMapper.normalizedLocationKey(location(null, null, null, null, null, "NORTH"))).isNull();
+		assertThat(CaseGraphMapper.normalizedLocationKey(location(" ", "", null, null, null, null))).isNull();
+	}
+
+	@Test
+	void caseVertexStoresEpochTimes() {
+		CaseReport caseReport = new CaseReport();
+		caseReport.setCaseId("C-1");
+		caseReport.setReportedAt(LocalDateTime.of(2024, 3, 1, 10, 15, 30, 250_000_000));
+
+		CaseVertex caseVertex = mapper.createCaseVertex(caseReport);
+
+		assertThat(caseVertex.getKey()).isEqualTo(CaseGraphMapper.caseKey("C-1"));
+		assertThat(caseVertex.getReportedAtSeconds()).isEqualTo(caseVertex.getReportedAt() / 1000);
+		assertThat(CaseGraphMapper.localDateTime(caseVertex.getReportedAt())).isEqualTo(caseReport.getReportedAt());
+	}
+
+	private static Location location(String address, String postalCode, String city, String state, String country, String district) {
+		Location location = new Location();
+		location.setAddress(address);
+		location.setPostalCode(postalCode);
+		location.setCity(city);
+		location.setState(state);
+		location.setCountry(country);
+		location.setDistrict(district);
+		return location;
+	}
+}
@@ -0,0 +1,45 @@
+package com.poc.case_processing_service.metrics;
+
+import com.poc.case_processing_service.exception.GraphDatabaseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphMetricsTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final GraphMetrics graphMetrics = new GraphMetrics(meterRegistry);
+
+	@Test
+	void timesAsyncOperationWhenItsFutureCompletes() {
+		CompletableFuture<String> pending = new CompletableFuture<>();
+		CompletableFuture<String> recorded = graphMetrics.recordAsync("insert", "cases", () -> pending);
+
+		assertThat(timerCount("insert", "cases")).isZero();
+		pending.complete("C-1");
+
+		assertThat(recorded.join()).isEqualTo("C-1");
+		assertThat(timerCount("insert", "cases")).isEqualTo(1);
+	}
+
+	@Test
+	void countsAsyncOperationThatCompletesExceptionally() {
+		CompletableFuture<String> recorded = graphMetrics.recordAsync("upsert", "persons", () -> CompletableFuture
+				.<String>completedFuture(null)
+				.thenApply(ignored -> {
+					throw new GraphDatabaseException("Upsert into persons returned no key");
+				}));
+
+		assertThat(recorded).isCompletedExceptionally();
+		assertThat(timerCount("upsert", "persons")).isEqualTo(1);
+		assertThat(meterRegistry.counter("graph.operation.errors", "operation", "upsert", "collection", "persons",
+				"exception", "GraphDatabaseException").count()).isEqualTo(1);
+	}
+
+	private long timerCount(String operation, String collection) {
+		return meterRegistry.timer("graph.operation", "operation", operation, "collection", collection).count();
+	}
+}
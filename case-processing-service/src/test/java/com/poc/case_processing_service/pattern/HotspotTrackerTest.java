@@ -0,0 +1,90 @@
+package com.poc.case_processing_service.pattern;
+
+import com.poc.case_processing_service.model.DistrictHotspot;
+import com.poc.case_processing_service.service.GraphDatabaseService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(OutputCaptureExtension.class)
+class HotspotTrackerTest {
+
+	private static final long MINUTE = 60_000L;
+
+	@Test
+	void alertsOnceWhenDistrictReachesThreshold(CapturedOutput output) {
+		HotspotTracker tracker = tracker(3, 0, 12, 16);
+		long now = System.currentTimeMillis();
+
+		tracker.record("NORTH", now);
+		tracker.record("NORTH", now);
+		assertThat(output.getOut()).doesNotContain("HOTSPOT ALERT");
+
+		tracker.record("NORTH", now);
+		tracker.record("NORTH", now);
+		assertThat(output.getOut().split("HOTSPOT ALERT", -1)).hasSize(2);
+		assertThat(tracker.getCount("NORTH")).isEqualTo(4);
+	}
+
+	@Test
+	void windowDropsCasesOlderThanTheWindow() {
+		// one minute in two slices of 30 seconds
+		HotspotTracker tracker = tracker(5, 1, 2, 16);
+		long now = System.currentTimeMillis();
+
+		tracker.record("NORTH", now - 2 * MINUTE);
+		tracker.record("NORTH", now - 20_000L);
+		tracker.record("NORTH", now);
+		tracker.record("NORTH", now + MINUTE); // clock skew: counted in the current slice
+
+		assertThat(tracker.getCount("NORTH")).isEqualTo(3);
+	}
+
+	@Test
+	void topDistrictsAreOrderedAndLimited() {
+		HotspotTracker tracker = tracker(100, 0, 12, 16);
+		long now = System.currentTimeMillis();
+		record(tracker, "NORTH", 2, now);
+		record(tracker, "SOUTH", 5, now);
+		record(tracker, "EAST", 3, now);
+
+		assertThat(tracker.topDistricts(2))
+				.extracting(DistrictHotspot::getDistrict)
+				.containsExactly("SOUTH", "EAST");
+		assertThat(tracker.getCount("WEST")).isZero();
+	}
+
+	@Test
+	void ignoresBlankDistrictsAndDistrictsBeyondCapacity() {
+		HotspotTracker tracker = tracker(100, 0, 12, 1);
+		long now = System.currentTimeMillis();
+
+		tracker.record(" ", now);
+		tracker.record("NORTH", now);
+		tracker.record("SOUTH", now);
+
+		assertThat(tracker.getCount("NORTH")).isEqualTo(1);
+		assertThat(tracker.getCount("SOUTH")).isZero();
+	}
+
+	private static void record(HotspotTracker tracker, String district, int cases, long reportedAt) {
+		for (int i = 0; i < cases; i++) {
+			tracker.record(district, reportedAt);
+		}
+	}
+
+	private static HotspotTracker tracker(int threshold, long windowMinutes, int slices, int maxDistricts) {
+		HotspotTracker tracker = new HotspotTracker(mock(GraphDatabaseService.class));
+		ReflectionTestUtils.setField(tracker, "threshold", threshold);
+		ReflectionTestUtils.setField(tracker, "windowMinutes", windowMinutes);
+		ReflectionTestUtils.setField(tracker, "sliceCount", slices);
+		ReflectionTestUtils.setField(tracker, "maxDistricts", maxDistricts);
+		tracker.init();
+		return tracker;
+	}
+}
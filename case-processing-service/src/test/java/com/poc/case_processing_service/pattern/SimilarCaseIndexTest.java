@@ -0,0 +1,106 @@
+package com.poc.case_processing_service.pattern;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.CaseType;
+import com.poc.case_ingestion_service.model.Location;
+import com.poc.case_ingestion_service.model.Person;
+import com.poc.case_processing_service.model.SimilarCase;
+import com.poc.case_processing_service.service.GraphDatabaseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class SimilarCaseIndexTest {
+
+	@Test
+	void ranksSharedPersonAboveSharedDistrictAndExcludesSelf() {
+		SimilarCaseIndex index = index(2000, 5000);
+		index.add(caseReport("C-1", CaseType.THEFT, "NORTH", "P-1", "stolen bicycle"));
+		index.add(caseReport("C-2", CaseType.FRAUD, "SOUTH", "P-9", "stolen cheque"));
+		index.add(caseReport("C-3", CaseType.FRAUD, "NORTH", null, "forged cheque"));
+		index.add(caseReport("C-4", CaseType.ASSAULT, "EAST", null, "street fight"));
+
+		List<SimilarCase> similar = index.findSimilar(caseReport("C-2", CaseType.THEFT, "NORTH", "P-1", "stolen bicycle"), 10);
+
+		assertThat(similar).extracting(SimilarCase::getCaseId).containsExactly("C-1", "C-3");
+	}
+
+	@Test
+	void caseWithoutIdIsComparedToEveryIndexedCase() {
+		SimilarCaseIndex index = index(2000, 5000);
+		index.add(caseReport("C-1", CaseType.THEFT, "NORTH", null, null));
+
+		List<SimilarCase> similar = index.findSimilar(caseReport(null, CaseType.THEFT, null, null, null), 10);
+
+		assertThat(similar).extracting(SimilarCase::getCaseId).containsExactly("C-1");
+	}
+
+	@Test
+	void reAddReplacesTheTermsOfTheCase() {
+		SimilarCaseIndex index = index(2000, 5000);
+		assertThat(index.add(caseReport("C-1", CaseType.THEFT, "NORTH", null, null))).isTrue();
+		assertThat(index.add(caseReport("C-1", CaseType.FRAUD, "SOUTH", null, null))).isFalse();
+
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.findSimilar(caseReport("Q", CaseType.THEFT, "NORTH", null, null), 10)).isEmpty();
+		assertThat(index.findSimilar(caseReport("Q", CaseType.FRAUD, null, null, null), 10))
+				.extracting(SimilarCase::getCaseId).containsExactly("C-1");
+	}
+
+	@Test
+	void scansOnlyTheNewestPostingsOfATerm() {
+		SimilarCaseIndex index = index(2000, 10);
+		for (int i = 0; i < 50; i++) {
+			index.add(caseReport("C-" + i, CaseType.THEFT, null, null, null));
+		}
+
+		List<SimilarCase> similar = index.findSimilar(caseReport("Q", CaseType.THEFT, null, null, null), 100);
+
+		assertThat(similar).hasSize(10);
+		assertThat(similar).extracting(SimilarCase::getCaseId).allMatch(caseId -> Integer.parseInt(caseId.substring(2)) >= 40);
+	}
+
+	@Test
+	void stopsScoringOnceTheBudgetIsSpent() {
+		SimilarCaseIndex index = index(0, 5000);
+		for (int i = 0; i < 1000; i++) {
+			index.add(caseReport("C-" + i, CaseType.THEFT, null, null, null));
+		}
+
+		// the deadline is checked every 256 postings
+		assertThat(index.findSimilar(caseReport("Q", CaseType.THEFT, null, null, null), 1000)).hasSize(256);
+	}
+
+	private static SimilarCaseIndex index(long budgetMicros, int maxPostingsPerTerm) {
+		SimilarCaseIndex index = new SimilarCaseIndex(mock(GraphDatabaseService.class));
+		ReflectionTestUtils.setField(index, "maxCases", 10_000);
+		ReflectionTestUtils.setField(index, "maxTerms", 10_000);
+		ReflectionTestUtils.setField(index, "maxPostingsPerTerm", maxPostingsPerTerm);
+		ReflectionTestUtils.setField(index, "maxCandidates", 10_000);
+		ReflectionTestUtils.setField(index, "budgetMicros", budgetMicros);
+		index.init();
+		return index;
+	}
+
+	private static CaseReport caseReport(String caseId, CaseType caseType, String district, String personId, String description) {
+		CaseReport caseReport = new CaseReport();
+		caseReport.setCaseId(caseId);
+		caseReport.setCaseType(caseType);
+		caseReport.setDescription(description);
+		if (district != null) {
+			Location location = new Location();
+			location.setDistrict(district);
+			caseReport.setLocation(location);
+		}
+		if (personId != null) {
+			Person person = new Person();
+			person.setPersonId(personId);
+			caseReport.setInvolvedPersons(List.of(person));
+		}
+		return caseReport;
+	}
+}
@@ -0,0 +1,135 @@
+package com.poc.case_processing_service.routes;
+
+import com.poc.case_ingestion_service.codec.CaseReportCodec;
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.CaseStatus;
+import com.poc.case_processing_service.exception.GraphDatabaseException;
+import com.poc.case_processing_service.metrics.CaseLatencyMetrics;
+import com.poc.case_processing_service.model.CaseGraphResult;
+import com.poc.case_processing_service.model.CaseVertex;
+import com.poc.case_processing_service.pattern.HotspotTracker;
+import com.poc.case_processing_service.pattern.PersonCaseIndex;
+import com.poc.case_processing_service.pattern.SimilarCaseIndex;
+import com.poc.case_processing_service.service.AsyncGraphDatabaseService;
+import com.poc.case_processing_service.service.CaseReadService;
+import com.poc.case_processing_service.service.GraphDatabaseService;
+import com.poc.case_processing_service.service.ProcessedCaseFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CaseFailureRouteTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final GraphDatabaseService graphDatabaseService = mock(GraphDatabaseService.class);
+	private final CaseVersionTracker caseVersionTracker = new CaseVersionTracker(100, 10);
+	private CamelContext camelContext;
+	private ProducerTemplate producerTemplate;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		OffsetCommitTracker offsetCommitTracker = new OffsetCommitTracker();
+		CaseProcessingRoute processingRoute = new CaseProcessingRoute(graphDatabaseService, mock(AsyncGraphDatabaseService.class),
+				meterRegistry, mock(HotspotTracker.class), mock(SimilarCaseIndex.class), mock(PersonCaseIndex.class),
+				mock(CaseReportCodec.class), mock(CaseReadService.class), new ProcessedCaseFilter(meterRegistry, 100, 60),
+				mock(CaseLatencyMetrics.class), offsetCommitTracker, caseVersionTracker);
+		CaseFailureRoute failureRoute = new CaseFailureRoute(meterRegistry, mock(CaseReportCodec.class),
+				offsetCommitTracker, caseVersionTracker);
+		ReflectionTestUtils.setField(failureRoute, "maxAttempts", 3);
+		ReflectionTestUtils.setField(failureRoute, "initialDelayMs", 200L);
+		ReflectionTestUtils.setField(failureRoute, "multiplier", 1.0);
+		ReflectionTestUtils.setField(failureRoute, "maxDelayMs", 200L);
+
+		camelContext = new DefaultCamelContext();
+		camelContext.addRoutes(processingRoute);
+		camelContext.addRoutes(failureRoute);
+		// no Kafka: cases are sent straight to direct:processCase
+		camelContext.setAutoStartup(false);
+		camelContext.start();
+		for (String routeId : new String[] {"case-processing-route", "error-handling-route", "case-retry-route"}) {
+			camelContext.getRouteController().startRoute(routeId);
+		}
+		producerTemplate = camelContext.createProducerTemplate();
+	}
+
+	@AfterEach
+	void tearDown() {
+		camelContext.stop();
+	}
+
+	@Test
+	void dropsRetryOfCaseStoredAgainFromNewerRecord() {
+		CaseReport first = caseReport(CaseStatus.OPEN);
+		CaseReport second = caseReport(CaseStatus.CLOSED);
+		when(graphDatabaseService.saveCaseGraph(first)).thenThrow(new GraphDatabaseException("write timed out"));
+		when(graphDatabaseService.saveCaseGraph(second)).thenReturn(stored(second));
+
+		consume(first);
+		consume(second);
+
+		await().atMost(Duration.ofSeconds(5))
+				.until(() -> failureCount("superseded") == 1);
+		verify(graphDatabaseService, times(1)).saveCaseGraph(first);
+		verify(graphDatabaseService, times(1)).saveCaseGraph(second);
+		assertThat(failureCount("retried")).isEqualTo(1);
+	}
+
+	@Test
+	void retriesCaseWithoutNewerVersion() {
+		CaseReport caseReport = caseReport(CaseStatus.OPEN);
+		when(graphDatabaseService.saveCaseGraph(caseReport))
+				.thenThrow(new GraphDatabaseException("write timed out"))
+				.thenReturn(stored(caseReport));
+
+		consume(caseReport);
+
+		await().atMost(Duration.ofSeconds(5))
+				.untilAsserted(() -> verify(graphDatabaseService, times(2)).saveCaseGraph(caseReport));
+		assertThat(failureCount("superseded")).isZero();
+	}
+
+	/**
+	 * Send a case the way the consumer route hands it on, numbered in consumption order
+	 */
+	private void consume(CaseReport caseReport) {
+		producerTemplate.send("direct:processCase", exchange -> {
+			caseVersionTracker.received(exchange);
+			exchange.getIn().setBody(caseReport);
+		});
+	}
+
+	private double failureCount(String outcome) {
+		return meterRegistry.counter("case.failures", "outcome", outcome).count();
+	}
+
+	private static CaseReport caseReport(CaseStatus status) {
+		CaseReport caseReport = new CaseReport();
+		caseReport.setCaseId("C-1");
+		caseReport.setStatus(status);
+		return caseReport;
+	}
+
+	private static CaseGraphResult stored(CaseReport caseReport) {
+		CaseVertex caseVertex = new CaseVertex();
+		caseVertex.setCaseId(caseReport.getCaseId());
+		CaseGraphResult result = new CaseGraphResult();
+		result.setCaseKey(caseReport.getCaseId());
+		result.setCaseVertex(caseVertex);
+		result.setCaseReport(caseReport);
+		return result;
+	}
+}
@@ -0,0 +1,106 @@
+package com.poc.case_processing_service.routes;
+
+import com.poc.case_ingestion_service.codec.CaseReportCodec;
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_processing_service.metrics.CaseLatencyMetrics;
+import com.poc.case_processing_service.model.CaseGraphResult;
+import com.poc.case_processing_service.model.CaseVertex;
+import com.poc.case_processing_service.pattern.HotspotTracker;
+import com.poc.case_processing_service.pattern.PersonCaseIndex;
+import com.poc.case_processing_service.pattern.SimilarCaseIndex;
+import com.poc.case_processing_service.service.AsyncGraphDatabaseService;
+import com.poc.case_processing_service.service.CaseReadService;
+import com.poc.case_processing_service.service.GraphDatabaseService;
+import com.poc.case_processing_service.service.ProcessedCaseFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CaseProcessingRouteTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final GraphDatabaseService graphDatabaseService = mock(GraphDatabaseService.class);
+	private final SimilarCaseIndex similarCaseIndex = mock(SimilarCaseIndex.class);
+	private CamelContext camelContext;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		CaseProcessingRoute processingRoute = new CaseProcessingRoute(graphDatabaseService, mock(AsyncGraphDatabaseService.class),
+				meterRegistry, mock(HotspotTracker.class), similarCaseIndex, mock(PersonCaseIndex.class),
+				mock(CaseReportCodec.class), mock(CaseReadService.class), new ProcessedCaseFilter(meterRegistry, 100, 60),
+				mock(CaseLatencyMetrics.class), new OffsetCommitTracker(), new CaseVersionTracker(100, 10));
+		ReflectionTestUtils.setField(processingRoute, "batchEnabled", true);
+		ReflectionTestUtils.setField(processingRoute, "batchSize", 10);
+		ReflectionTestUtils.setField(processingRoute, "batchLingerMs", 100L);
+
+		camelContext = new DefaultCamelContext();
+		camelContext.addRoutes(processingRoute);
+		// no Kafka: batches are sent straight to direct:processCaseBatch
+		camelContext.setAutoStartup(false);
+		camelContext.start();
+		camelContext.getRouteController().startRoute("case-batch-processing-route");
+	}
+
+	@AfterEach
+	void tearDown() {
+		camelContext.stop();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void batchFallingBackAfterTheBulkWriteReturnsEachCaseOnce() {
+		CaseReport first = caseReport("C-1");
+		CaseReport second = caseReport("C-2");
+		when(graphDatabaseService.saveCaseGraphs(List.of(first, second))).thenReturn(List.of(stored(first), stored(second)));
+		when(graphDatabaseService.saveCaseGraph(first)).thenReturn(stored(first));
+		when(graphDatabaseService.saveCaseGraph(second)).thenReturn(stored(second));
+		// indexing the first stored case fails, so the batch is redone one case at a time
+		when(similarCaseIndex.add(any())).thenThrow(new IllegalStateException("index full")).thenReturn(true);
+
+		Exchange batch = new DefaultExchange(camelContext);
+		batch.setProperty(CaseProcessingRoute.BATCH_SEQUENCE_PROPERTY, 0L);
+		batch.getIn().setBody(List.of(record(first), record(second)));
+		Exchange result = camelContext.createProducerTemplate().send("direct:processCaseBatch", batch);
+
+		assertThat(result.getException()).isNull();
+		assertThat(result.getIn().getBody(List.class))
+				.extracting(stored -> ((CaseGraphResult) stored).getCaseKey())
+				.containsExactly("C-1", "C-2");
+		assertThat(meterRegistry.counter("case.batch.failures").count()).isEqualTo(1);
+	}
+
+	private Exchange record(CaseReport caseReport) {
+		Exchange record = new DefaultExchange(camelContext);
+		record.getIn().setBody(caseReport);
+		return record;
+	}
+
+	private static CaseReport caseReport(String caseId) {
+		CaseReport caseReport = new CaseReport();
+		caseReport.setCaseId(caseId);
+		return caseReport;
+	}
+
+	private static CaseGraphResult stored(CaseReport caseReport) {
+		CaseVertex caseVertex = new CaseVertex();
+		caseVertex.setCaseId(caseReport.getCaseId());
+		CaseGraphResult result = new CaseGraphResult();
+		result.setCaseKey(caseReport.getCaseId());
+		result.setCaseVertex(caseVertex);
+		result.setCaseReport(caseReport);
+		return result;
+	}
+}
@@ -0,0 +1,92 @@
+package com.poc.case_processing_service.schema;
+
+import com.arangodb.ArangoDatabase;
+import com.arangodb.entity.AqlExecutionExplainEntity;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poc.case_processing_service.query.GraphQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QueryPlanVerifierTest {
+
+	// Plans as ArangoDB returns them: subqueries are spliced into the top-level node list
+	private static final String INDEXED_PLAN = """
+			{"plan":{"nodes":[
+			  {"type":"SingletonNode","id":1},
+			  {"type":"IndexNode","id":2,"collection":"cases"},
+			  {"type":"SubqueryStartNode","id":3},
+			  {"type":"TraversalNode","id":4},
+			  {"type":"SubqueryEndNode","id":5},
+			  {"type":"ReturnNode","id":6}]}}
+			""";
+
+	private static final String FULL_SCAN_PLAN = """
+			{"plan":{"nodes":[
+			  {"type":"SingletonNode","id":1},
+			  {"type":"SubqueryStartNode","id":2},
+			  {"type":"EnumerateCollectionNode","id":3,"collection":"cases"},
+			  {"type":"SubqueryEndNode","id":4},
+			  {"type":"ReturnNode","id":5}]}}
+			""";
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+	private ArangoDatabase arangoDatabase;
+	private QueryPlanVerifier verifier;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		arangoDatabase = mock(ArangoDatabase.class);
+		when(arangoDatabase.explainQuery(anyString(), anyMap(), any())).thenReturn(plan(INDEXED_PLAN));
+		when(arangoDatabase.explainQuery(eq(GraphQuery.SIMILAR_CASES.getAql()), anyMap(), any()))
+				.thenReturn(plan(FULL_SCAN_PLAN));
+		verifier = new QueryPlanVerifier(arangoDatabase);
+	}
+
+	@Test
+	void indexedQueryHasNoFullScans() {
+		assertThat(verifier.scannedCollections(GraphQuery.CASE_BY_ID)).isEmpty();
+	}
+
+	@Test
+	void reportsFullScanInsideSplicedSubquery() {
+		assertThat(verifier.scannedCollections(GraphQuery.SIMILAR_CASES)).containsExactly("cases");
+	}
+
+	@Test
+	void failModeAbortsStartupOnFullScan() {
+		ReflectionTestUtils.setField(verifier, "mode", "fail");
+
+		assertThatThrownBy(verifier::verifyQueryPlans)
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("SIMILAR_CASES scans [cases]")
+				.hasMessageNotContaining("CASE_BY_ID");
+	}
+
+	@Test
+	void warnModeOnlyLogs() {
+		ReflectionTestUtils.setField(verifier, "mode", "warn");
+
+		assertThatCode(verifier::verifyQueryPlans).doesNotThrowAnyException();
+	}
+
+	private AqlExecutionExplainEntity plan(String json) throws Exception {
+		return objectMapper.readValue(json, AqlExecutionExplainEntity.class);
+	}
+}
@@ -0,0 +1,49 @@
+package com.poc.case_processing_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcessedCaseFilterTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ProcessedCaseFilter filter = new ProcessedCaseFilter(meterRegistry, 100, 60);
+
+	@Test
+	void skipsOnlyTheContentStoredLast() {
+		long first = hash("{\"caseId\":\"C-1\",\"status\":\"OPEN\"}");
+		long second = hash("{\"caseId\":\"C-1\",\"status\":\"CLOSED\"}");
+
+		assertThat(filter.isReplay("C-1", first)).isFalse();
+		filter.markStored("C-1", first);
+		assertThat(filter.isReplay("C-1", first)).isTrue();
+		assertThat(filter.isReplay("C-1", second)).isFalse();
+		assertThat(filter.isReplay("C-2", first)).isFalse();
+
+		filter.markStored("C-1", second);
+		assertThat(filter.isReplay("C-1", first)).isFalse();
+		assertThat(filter.isReplay("C-1", second)).isTrue();
+		assertThat(meterRegistry.counter("case.dedup.skipped").count()).isEqualTo(2);
+	}
+
+	@Test
+	void neverSkipsWithoutCaseIdOrHash() {
+		filter.markStored(null, 1L);
+		filter.markStored("C-1", null);
+
+		assertThat(filter.isReplay(null, 1L)).isFalse();
+		assertThat(filter.isReplay("C-1", null)).isFalse();
+	}
+
+	@Test
+	void contentHashDependsOnlyOnThePayload() {
+		assertThat(hash("payload")).isEqualTo(hash("payload")).isNotEqualTo(hash("payload "));
+	}
+
+	private static long hash(String payload) {
+		return ProcessedCaseFilter.contentHash(payload.getBytes(StandardCharsets.UTF_8));
+	}
+}
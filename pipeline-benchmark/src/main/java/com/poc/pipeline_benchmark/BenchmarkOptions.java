@@ -0,0 +1,95 @@
+package com.poc.pipeline_benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line settings, given as {@code --name=value} (a bare {@code --name} means true).
+ */
+final class BenchmarkOptions {
+
+    enum Mode {
+        /** POST /api/cases/submit on the ingestion service */
+        HTTP,
+        /** Produce straight to case-events, skipping ingestion */
+        KAFKA
+    }
+
+    final Mode mode;
+    final int rate;
+    final int durationSeconds;
+    final int warmupSeconds;
+    final int workers;
+    final boolean containers;
+    final int partitions;
+
+    final String ingestionUrl;
+    final String processingUrl;
+    final String brokers;
+
+    final int personsPerCase;
+    final int evidencePerCase;
+    final int districts;
+    final double districtSkew;
+    final double duplicatePersonRate;
+    final int personPool;
+    final long seed;
+
+    private BenchmarkOptions(Map<String, String> values) {
+        mode = Mode.valueOf(values.getOrDefault("mode", "http").toUpperCase());
+        rate = intValue(values, "rate", 200);
+        durationSeconds = intValue(values, "duration", 60);
+        warmupSeconds = intValue(values, "warmup", 10);
+        workers = intValue(values, "workers", 64);
+        containers = Boolean.parseBoolean(values.getOrDefault("containers", "false"));
+        partitions = intValue(values, "partitions", 8);
+
+        ingestionUrl = values.getOrDefault("ingestion-url", "http://localhost:8080");
+        processingUrl = values.getOrDefault("processing-url", "http://localhost:8081");
+        brokers = values.getOrDefault("brokers", "localhost:9092");
+
+        personsPerCase = intValue(values, "persons", 3);
+        evidencePerCase = intValue(values, "evidence", 2);
+        districts = intValue(values, "districts", 50);
+        districtSkew = Double.parseDouble(values.getOrDefault("district-skew", "1.0"));
+        duplicatePersonRate = Double.parseDouble(values.getOrDefault("duplicate-person-rate", "0.3"));
+        personPool = intValue(values, "person-pool", 10_000);
+        seed = Long.parseLong(values.getOrDefault("seed", "42"));
+
+        if (rate <= 0 || durationSeconds <= 0 || workers <= 0) {
+            throw new IllegalArgumentException("rate, duration and workers must be positive");
+        }
+        if (duplicatePersonRate < 0 || duplicatePersonRate > 1) {
+            throw new IllegalArgumentException("duplicate-person-rate must be between 0 and 1");
+        }
+    }
+
+    static BenchmarkOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return new BenchmarkOptions(values);
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("mode=%s rate=%d/s duration=%ds warmup=%ds workers=%d persons=%d evidence=%d "
+                        + "districts=%d skew=%.2f duplicate-person-rate=%.2f person-pool=%d",
+                mode, rate, durationSeconds, warmupSeconds, workers, personsPerCase, evidencePerCase,
+                districts, districtSkew, duplicatePersonRate, personPool);
+    }
+}
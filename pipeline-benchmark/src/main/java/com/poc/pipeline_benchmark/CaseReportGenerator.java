@@ -0,0 +1,136 @@
+package com.poc.pipeline_benchmark;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+import com.poc.case_ingestion_service.model.CaseStatus;
+import com.poc.case_ingestion_service.model.CaseType;
+import com.poc.case_ingestion_service.model.Evidence;
+import com.poc.case_ingestion_service.model.EvidenceType;
+import com.poc.case_ingestion_service.model.Location;
+import com.poc.case_ingestion_service.model.Person;
+import com.poc.case_ingestion_service.model.PersonRole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic case reports with a controllable shape:
+ * <ul>
+ *     <li>a fixed number of persons and evidence items per case</li>
+ *     <li>districts drawn from a Zipf distribution ({@code districtSkew} 0 is uniform, around 1 puts a
+ *     large share of cases into a few hot districts)</li>
+ *     <li>{@code duplicatePersonRate} of the persons reuse a personId from a pool of {@code personPool},
+ *     so they hit existing person vertices; the rest get a fresh personId</li>
+ * </ul>
+ * Generation is deterministic for a seed and sequence number, so runs are repeatable and worker
+ * threads can generate cases independently.
+ */
+final class CaseReportGenerator {
+
+    private static final CaseType[] CASE_TYPES = {
+            CaseType.THEFT, CaseType.ASSAULT, CaseType.FRAUD, CaseType.ROBBERY, CaseType.BURGLARY, CaseType.VANDALISM};
+    private static final PersonRole[] ROLES = PersonRole.values();
+    private static final EvidenceType[] EVIDENCE_TYPES = EvidenceType.values();
+    private static final String[] WORDS = {"vehicle", "window", "broken", "night", "phone", "wallet",
+            "store", "parking", "knife", "cash", "door", "camera", "jacket", "bicycle", "alley", "bank"};
+
+    private final String runId;
+    private final long seed;
+    private final int personsPerCase;
+    private final int evidencePerCase;
+    private final double duplicatePersonRate;
+    private final int personPool;
+    /** Cumulative Zipf probabilities of the districts */
+    private final double[] districtCdf;
+
+    CaseReportGenerator(BenchmarkOptions options, String runId) {
+        this.runId = runId;
+        this.seed = options.seed;
+        this.personsPerCase = options.personsPerCase;
+        this.evidencePerCase = options.evidencePerCase;
+        this.duplicatePersonRate = options.duplicatePersonRate;
+        this.personPool = options.personPool;
+        this.districtCdf = zipfCdf(options.districts, options.districtSkew);
+    }
+
+    CaseReport caseReport(long seq) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + seq);
+
+        CaseReport caseReport = new CaseReport();
+        caseReport.setCaseId(runId + "-" + seq);
+        caseReport.setCaseType(CASE_TYPES[random.nextInt(CASE_TYPES.length)]);
+        caseReport.setStatus(CaseStatus.OPEN);
+        caseReport.setReportedAt(LocalDateTime.now());
+        caseReport.setDescription(description(random));
+        caseReport.setReportingOfficer("OFFICER-" + random.nextInt(200));
+
+        int district = district(random.nextDouble());
+        Location location = new Location();
+        location.setAddress(random.nextInt(2_000) + " Street " + district);
+        location.setPostalCode(String.valueOf(40_000 + district));
+        location.setCity("Springfield");
+        location.setState("IL");
+        location.setCountry("US");
+        location.setDistrict("DISTRICT-" + district);
+        caseReport.setLocation(location);
+
+        List<Person> persons = new ArrayList<>(personsPerCase);
+        for (int i = 0; i < personsPerCase; i++) {
+            Person person = new Person();
+            person.setPersonId(random.nextDouble() < duplicatePersonRate
+                    ? "P-" + random.nextInt(personPool)
+                    : "P-" + runId + "-" + seq + "-" + i);
+            person.setFirstName("First" + random.nextInt(500));
+            person.setLastName("Last" + random.nextInt(2_000));
+            person.setRole(ROLES[i % ROLES.length]);
+            person.setContactNumber("555-" + (1_000 + random.nextInt(9_000)));
+            person.setAddress(random.nextInt(2_000) + " Side Street");
+            persons.add(person);
+        }
+        caseReport.setInvolvedPersons(persons);
+
+        List<Evidence> evidence = new ArrayList<>(evidencePerCase);
+        for (int i = 0; i < evidencePerCase; i++) {
+            Evidence item = new Evidence();
+            item.setEvidenceId("E-" + i);
+            item.setType(EVIDENCE_TYPES[random.nextInt(EVIDENCE_TYPES.length)]);
+            item.setDescription(WORDS[random.nextInt(WORDS.length)] + " found at scene");
+            item.setCollectedBy(caseReport.getReportingOfficer());
+            item.setCollectedAt(LocalDateTime.now());
+            evidence.add(item);
+        }
+        caseReport.setEvidence(evidence);
+        return caseReport;
+    }
+
+    private int district(double uniform) {
+        int index = Arrays.binarySearch(districtCdf, uniform);
+        return index >= 0 ? index : Math.min(-index - 1, districtCdf.length - 1);
+    }
+
+    private static String description(SplittableRandom random) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.toString();
+    }
+
+    private static double[] zipfCdf(int districts, double skew) {
+        double[] cdf = new double[districts];
+        double sum = 0;
+        for (int rank = 1; rank <= districts; rank++) {
+            sum += 1.0 / Math.pow(rank, skew);
+            cdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < districts; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+}
@@ -0,0 +1,16 @@
+package com.poc.pipeline_benchmark;
+
+import com.poc.case_ingestion_service.model.CaseReport;
+
+/**
+ * Where the load goes. {@link #send} returns once the pipeline has accepted the case (202 from
+ * ingestion, or the Kafka ack) and throws when it was rejected. Implementations are called from
+ * all worker threads at once.
+ */
+interface CaseSink extends AutoCloseable {
+
+    void send(CaseReport caseReport) throws Exception;
+
+    @Override
+    void close();
+}
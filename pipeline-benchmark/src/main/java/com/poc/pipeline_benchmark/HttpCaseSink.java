@@ -0,0 +1,48 @@
+package com.poc.pipeline_benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poc.case_ingestion_service.model.CaseReport;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Submits cases through {@code POST /api/cases/submit} on the ingestion service
+ */
+final class HttpCaseSink implements CaseSink {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ExecutorService httpExecutor = Executors.newFixedThreadPool(8);
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(httpExecutor)
+            .build();
+    private final URI submitUri;
+
+    HttpCaseSink(String ingestionUrl) {
+        this.submitUri = URI.create(ingestionUrl + "/api/cases/submit");
+    }
+
+    @Override
+    public void send(CaseReport caseReport) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(submitUri)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(caseReport)))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Submit answered " + response.statusCode());
+        }
+    }
+
+    @Override
+    public void close() {
+        httpExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,53 @@
+package com.poc.pipeline_benchmark;
+
+import com.poc.case_ingestion_service.codec.CaseEventHeaders;
+import com.poc.case_ingestion_service.codec.CaseReportCodec;
+import com.poc.case_ingestion_service.codec.CaseWireFormat;
+import com.poc.case_ingestion_service.model.CaseReport;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/**
+ * Produces cases straight to case-events the way ingestion does: keyed by caseId, JSON encoded,
+ * with the caseFormat and caseIngestedAt headers, so only the processing side is measured.
+ */
+final class KafkaCaseSink implements CaseSink {
+
+    static final String TOPIC = "case-events";
+
+    private static final byte[] FORMAT = CaseWireFormat.JSON.headerValue().getBytes(StandardCharsets.UTF_8);
+
+    private final CaseReportCodec codec = new CaseReportCodec();
+    private final KafkaProducer<String, byte[]> producer;
+
+    KafkaCaseSink(String brokers) {
+        Properties props = new Properties();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, brokers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        this.producer = new KafkaProducer<>(props);
+    }
+
+    @Override
+    public void send(CaseReport caseReport) throws Exception {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(TOPIC, caseReport.getCaseId(),
+                codec.encode(caseReport, CaseWireFormat.JSON));
+        record.headers().add(CaseWireFormat.HEADER, FORMAT);
+        record.headers().add(CaseEventHeaders.INGESTED_AT,
+                String.valueOf(System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8));
+        producer.send(record).get();
+    }
+
+    @Override
+    public void close() {
+        producer.close();
+    }
+}
@@ -0,0 +1,55 @@
+package com.poc.pipeline_benchmark;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.kafka.KafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Throwaway Kafka and ArangoDB containers for a benchmark run. The services run outside, pointed
+ * at these with the arguments from {@link #serviceArguments()}.
+ */
+final class LocalPipeline implements AutoCloseable {
+
+    private static final String ARANGO_PASSWORD = "password";
+
+    private final KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("apache/kafka:3.8.0"));
+    private final GenericContainer<?> arangodb = new GenericContainer<>(DockerImageName.parse("arangodb:3.11"))
+            .withEnv("ARANGO_ROOT_PASSWORD", ARANGO_PASSWORD)
+            .withExposedPorts(8529)
+            .waitingFor(Wait.forHttp("/_api/version").forStatusCodeMatching(status -> status == 200 || status == 401));
+
+    void start(int partitions) throws Exception {
+        kafka.start();
+        arangodb.start();
+
+        Properties props = new Properties();
+        props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, brokers());
+        try (Admin admin = Admin.create(props)) {
+            admin.createTopics(List.of(new NewTopic(KafkaCaseSink.TOPIC, partitions, (short) 1))).all().get();
+        }
+    }
+
+    String brokers() {
+        return kafka.getBootstrapServers();
+    }
+
+    String serviceArguments() {
+        return String.format("processing: --case-processing.kafka.brokers=%s --case-processing.kafka.auto-offset-reset=earliest"
+                        + " --arangodb.host=%s --arangodb.port=%d --arangodb.password=%s%n"
+                        + "ingestion:  --case-ingestion.kafka.brokers=%s",
+                brokers(), arangodb.getHost(), arangodb.getMappedPort(8529), ARANGO_PASSWORD, brokers());
+    }
+
+    @Override
+    public void close() {
+        arangodb.stop();
+        kafka.stop();
+    }
+}
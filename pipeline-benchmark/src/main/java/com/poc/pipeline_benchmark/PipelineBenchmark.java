@@ -0,0 +1,216 @@
+package com.poc.pipeline_benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load against the whole pipeline. Cases are generated by {@link CaseReportGenerator} and
+ * sent at a fixed target rate, either through ingestion ({@code --mode=http}) or straight onto
+ * case-events ({@code --mode=kafka}). Each case has a scheduled send time and its send latency is
+ * measured from that time, so a stalled pipeline shows up as latency instead of a lower send rate.
+ *
+ * <p>Besides the client side numbers the run reads the processing service's Prometheus endpoint at the
+ * end of warm-up and after the pipeline has drained, and reports for that window:
+ * <ul>
+ *     <li>cases committed to the graph per second</li>
+ *     <li>p50/p99/p99.9 of {@code case.end_to_end.latency} (publish to graph commit, histogram bucket bounds)</li>
+ *     <li>database round trips per case (AQL queries plus document, upsert and bulk calls)</li>
+ * </ul>
+ *
+ * <pre>
+ * cd pipeline-benchmark
+ * # throwaway Kafka and ArangoDB in Docker; the run prints the arguments to start both services with
+ * mvn compile exec:java -Dexec.args="--containers --mode=http --rate=500 --duration=120"
+ * # or against infrastructure and services that are already running
+ * mvn compile exec:java -Dexec.args="--mode=kafka --brokers=localhost:9092 --rate=2000 --persons=5 --district-skew=1.2"
+ * </pre>
+ *
+ * Options: mode, rate (cases/s), duration and warmup (s), workers, containers, partitions, ingestion-url,
+ * processing-url, brokers, persons, evidence, districts, district-skew, duplicate-person-rate, person-pool, seed.
+ */
+public class PipelineBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration DRAIN_IDLE_TIMEOUT = Duration.ofSeconds(30);
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkOptions options = BenchmarkOptions.parse(args);
+        System.out.println(options);
+
+        LocalPipeline localPipeline = null;
+        String brokers = options.brokers;
+        if (options.containers) {
+            localPipeline = new LocalPipeline();
+            localPipeline.start(options.partitions);
+            brokers = localPipeline.brokers();
+            System.out.println("Kafka and ArangoDB are up. Start the services with:");
+            System.out.println(localPipeline.serviceArguments());
+        }
+
+        try {
+            awaitHealthy(options.processingUrl);
+            if (options.mode == BenchmarkOptions.Mode.HTTP) {
+                awaitHealthy(options.ingestionUrl);
+            }
+            try (CaseSink sink = options.mode == BenchmarkOptions.Mode.HTTP
+                    ? new HttpCaseSink(options.ingestionUrl)
+                    : new KafkaCaseSink(brokers)) {
+                run(options, sink);
+            }
+        } finally {
+            if (localPipeline != null) {
+                localPipeline.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static void run(BenchmarkOptions options, CaseSink sink) throws Exception {
+        CaseReportGenerator generator = new CaseReportGenerator(options, "RUN" + System.currentTimeMillis());
+        long total = (long) options.rate * options.durationSeconds;
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        PrometheusScrape baseline = PrometheusScrape.of(options.processingUrl);
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long warmupEnd = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+
+        AtomicLong next = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long[][] latencies = new long[options.workers][];
+        int[] counts = new int[options.workers];
+        CountDownLatch done = new CountDownLatch(options.workers);
+        ExecutorService workers = Executors.newFixedThreadPool(options.workers);
+
+        for (int w = 0; w < options.workers; w++) {
+            int worker = w;
+            workers.submit(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                try {
+                    for (long seq = next.getAndIncrement(); seq < total; seq = next.getAndIncrement()) {
+                        long scheduled = start + seq * periodNanos;
+                        long wait = scheduled - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                        try {
+                            sink.send(generator.caseReport(seq));
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (scheduled >= warmupEnd) {
+                            if (count == samples.length) {
+                                samples = Arrays.copyOf(samples, samples.length * 2);
+                            }
+                            samples[count++] = System.nanoTime() - scheduled;
+                        }
+                    }
+                } finally {
+                    latencies[worker] = samples;
+                    counts[worker] = count;
+                    done.countDown();
+                }
+            });
+        }
+
+        LockSupport.parkNanos(warmupEnd - System.nanoTime());
+        PrometheusScrape before = PrometheusScrape.of(options.processingUrl);
+        long measureStart = System.nanoTime();
+
+        done.await();
+        workers.shutdown();
+        long sendEnd = System.nanoTime();
+        long[] sendLatencies = merge(latencies, counts);
+
+        double expected = baseline.storedCases() + total - errors.get();
+        PrometheusScrape after = awaitDrained(options.processingUrl, expected);
+        long drainEnd = System.nanoTime();
+
+        double sendSeconds = (sendEnd - measureStart) / 1e9;
+        double drainSeconds = (drainEnd - measureStart) / 1e9;
+        double stored = after.storedCases() - before.storedCases();
+        String e2e = "case_end_to_end_latency_seconds";
+
+        System.out.printf("sent=%d errors=%d (after %ds warm-up)%n", sendLatencies.length, errors.get(), options.warmupSeconds);
+        System.out.printf("send:   throughput=%.1f cases/s p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                sendLatencies.length / sendSeconds, percentile(sendLatencies, 0.50), percentile(sendLatencies, 0.99),
+                percentile(sendLatencies, 0.999), sendLatencies.length > 0 ? sendLatencies[sendLatencies.length - 1] / 1e6 : 0.0);
+        System.out.printf("stored: throughput=%.1f cases/s end-to-end p50<=%.0fms p99<=%.0fms p99.9<=%.0fms%n",
+                stored / drainSeconds, after.quantile(before, e2e, 0.50) * 1000,
+                after.quantile(before, e2e, 0.99) * 1000, after.quantile(before, e2e, 0.999) * 1000);
+        System.out.printf("graph:  stored=%.0f round trips per case=%.2f%n",
+                stored, stored > 0 ? (after.roundTrips() - before.roundTrips()) / stored : 0.0);
+    }
+
+    /**
+     * Scrape until the processing service has stored {@code expected} cases in total, or stops making progress
+     */
+    private static PrometheusScrape awaitDrained(String processingUrl, double expected) throws Exception {
+        PrometheusScrape scrape = PrometheusScrape.of(processingUrl);
+        double lastStored = scrape.storedCases();
+        long lastProgress = System.nanoTime();
+        while (scrape.storedCases() < expected && System.nanoTime() - lastProgress < DRAIN_IDLE_TIMEOUT.toNanos()) {
+            Thread.sleep(1000);
+            scrape = PrometheusScrape.of(processingUrl);
+            if (scrape.storedCases() > lastStored) {
+                lastStored = scrape.storedCases();
+                lastProgress = System.nanoTime();
+            }
+        }
+        if (scrape.storedCases() < expected) {
+            System.out.printf("Pipeline stopped draining with %.0f cases outstanding%n", expected - scrape.storedCases());
+        }
+        return scrape;
+    }
+
+    private static void awaitHealthy(String baseUrl) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        System.out.printf("Waiting for %s%n", baseUrl);
+        while (true) {
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (Exception e) {
+                // not up yet
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(baseUrl + " did not become healthy within " + STARTUP_TIMEOUT);
+            }
+            Thread.sleep(2000);
+        }
+    }
+
+    private static long[] merge(long[][] latencies, int[] counts) {
+        long[] all = new long[Arrays.stream(counts).sum()];
+        int offset = 0;
+        for (int w = 0; w < latencies.length; w++) {
+            System.arraycopy(latencies[w], 0, all, offset, counts[w]);
+            offset += counts[w];
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
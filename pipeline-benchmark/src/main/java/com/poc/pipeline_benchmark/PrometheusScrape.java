@@ -0,0 +1,144 @@
+package com.poc.pipeline_benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * One scrape of a service's {@code /actuator/prometheus}. Two scrapes are subtracted to get what
+ * the service did in between, so numbers cover exactly the measured window.
+ */
+final class PrometheusScrape {
+
+    /** Graph operations that are one database round trip; the others wrap timed calls */
+    private static final Set<String> ROUND_TRIP_OPERATIONS = Set.of("insert", "bulk_insert", "upsert", "get", "delete", "commit");
+
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private final List<Sample> samples;
+
+    private PrometheusScrape(List<Sample> samples) {
+        this.samples = samples;
+    }
+
+    static PrometheusScrape of(String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus"))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        HttpResponse<String> response = HTTP.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Prometheus scrape answered " + response.statusCode());
+        }
+        List<Sample> samples = new ArrayList<>();
+        for (String line : response.body().split("\n")) {
+            if (!line.isBlank() && !line.startsWith("#")) {
+                samples.add(Sample.parse(line));
+            }
+        }
+        return new PrometheusScrape(samples);
+    }
+
+    /**
+     * Cases committed to the graph, as counted by the end-to-end latency timer
+     */
+    double storedCases() {
+        return sum("case_end_to_end_latency_seconds_count");
+    }
+
+    /**
+     * AQL queries plus single document, upsert and bulk calls
+     */
+    double roundTrips() {
+        double roundTrips = sum("graph_query_seconds_count");
+        for (Sample sample : samples) {
+            if (sample.name.equals("graph_operation_seconds_count")
+                    && ROUND_TRIP_OPERATIONS.contains(sample.labels.get("operation"))) {
+                roundTrips += sample.value;
+            }
+        }
+        return roundTrips;
+    }
+
+    /**
+     * Quantile of a histogram over the window since {@code before}, as the upper bound of the bucket it
+     * falls in, in seconds; NaN when nothing was recorded
+     */
+    double quantile(PrometheusScrape before, String histogram, double quantile) {
+        TreeMap<Double, Double> buckets = new TreeMap<>();
+        addBuckets(buckets, samples, histogram, 1);
+        addBuckets(buckets, before.samples, histogram, -1);
+        if (buckets.isEmpty() || buckets.lastEntry().getValue() <= 0) {
+            return Double.NaN;
+        }
+        double rank = quantile * buckets.lastEntry().getValue();
+        for (Map.Entry<Double, Double> bucket : buckets.entrySet()) {
+            if (bucket.getValue() >= rank) {
+                return bucket.getKey();
+            }
+        }
+        return buckets.lastKey();
+    }
+
+    private static void addBuckets(TreeMap<Double, Double> buckets, List<Sample> samples, String histogram, int sign) {
+        for (Sample sample : samples) {
+            if (sample.name.equals(histogram + "_bucket")) {
+                buckets.merge(parseValue(sample.labels.get("le")), sign * sample.value, Double::sum);
+            }
+        }
+    }
+
+    private double sum(String name) {
+        double sum = 0;
+        for (Sample sample : samples) {
+            if (sample.name.equals(name)) {
+                sum += sample.value;
+            }
+        }
+        return sum;
+    }
+
+    private static double parseValue(String value) {
+        return switch (value) {
+            case "+Inf" -> Double.POSITIVE_INFINITY;
+            case "-Inf" -> Double.NEGATIVE_INFINITY;
+            default -> Double.parseDouble(value);
+        };
+    }
+
+    private record Sample(String name, Map<String, String> labels, double value) {
+
+        /**
+         * {@code name{label="value",...} value [timestamp]}
+         */
+        static Sample parse(String line) {
+            Map<String, String> labels = new HashMap<>();
+            int brace = line.indexOf('{');
+            int space;
+            String name;
+            if (brace >= 0) {
+                int close = line.lastIndexOf('}');
+                name = line.substring(0, brace);
+                for (String pair : line.substring(brace + 1, close).split(",")) {
+                    int equals = pair.indexOf('=');
+                    if (equals > 0) {
+                        labels.put(pair.substring(0, equals).trim(), pair.substring(equals + 2, pair.length() - 1));
+                    }
+                }
+                space = close + 1;
+            } else {
+                space = line.indexOf(' ');
+                name = line.substring(0, space);
+            }
+            String[] rest = line.substring(space).trim().split(" ");
+            return new Sample(name, labels, parseValue(rest[0]));
+        }
+    }
+}